@@ -1,7 +1,11 @@
 package com.example.todo.api.clients;
 
 import com.example.todo.api.config.ConfigurationManager;
+import com.example.todo.api.models.NotificationDTO;
 import io.restassured.response.Response;
+
+import java.util.List;
+
 import static io.restassured.RestAssured.given;
 
 public class NotificationClient {
@@ -14,6 +18,27 @@ public class NotificationClient {
                 .get("/api/notifications");
     }
 
+    /**
+     * Fetches the unread notifications until one contains {@code messageFragment} or five seconds have passed.
+     * The application stores notifications in the background, shortly after the request that caused them returns.
+     */
+    public List<NotificationDTO> awaitUnreadNotification(String token, String messageFragment) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            List<NotificationDTO> notifications = getUnreadNotifications(token).jsonPath().getList(".", NotificationDTO.class);
+            boolean found = notifications.stream().anyMatch(n -> n.getMessage().contains(messageFragment));
+            if (found || System.currentTimeMillis() > deadline) {
+                return notifications;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return notifications;
+            }
+        }
+    }
+
     public Response markAsRead(Long id, String token) {
         return given()
                 .baseUri(ConfigurationManager.getBaseUri())
@@ -22,6 +22,11 @@ public class ConfigurationManager {
     public static String getProperty(String key) {
         return properties.getProperty(key);
     }
+
+    // System properties (-Dkey=value) take precedence over config.properties
+    public static String getProperty(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
     
     public static String getBaseUri() {
         return properties.getProperty("base.uri", "http://localhost");
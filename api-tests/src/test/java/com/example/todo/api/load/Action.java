@@ -0,0 +1,33 @@
+package com.example.todo.api.load;
+
+import java.util.Arrays;
+
+/**
+ * The steps a virtual user can take. Each action is measured and reported as its own endpoint.
+ */
+public enum Action {
+    LOGIN("login"),
+    LIST_TODOS("list-todos"),
+    CREATE_TODO("create-todo"),
+    ASSIGN_TODO("assign-todo"),
+    RESPOND_ASSIGNMENT("respond-assignment"),
+    POLL_NOTIFICATIONS("poll-notifications");
+
+    private final String key;
+
+    Action(String key) {
+        this.key = key;
+    }
+
+    // Name used in load.mix, the SLO properties and the report
+    public String getKey() {
+        return key;
+    }
+
+    public static Action fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(action -> action.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test action: " + key));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.todo.api.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects response times and failures per action from all virtual users. Samples taken before
+ * {@link #startMeasuring()} are dropped, so the warm-up does not skew the results.
+ */
+public class LatencyRecorder {
+
+    private final Map<Action, Samples> samples = new EnumMap<>(Action.class);
+    private volatile boolean measuring;
+
+    public LatencyRecorder() {
+        for (Action action : Action.values()) {
+            samples.put(action, new Samples());
+        }
+    }
+
+    public void startMeasuring() {
+        measuring = true;
+    }
+
+    public void stopMeasuring() {
+        measuring = false;
+    }
+
+    public void record(Action action, long nanos, boolean success) {
+        if (measuring) {
+            samples.get(action).add(nanos, success);
+        }
+    }
+
+    public ActionStats stats(Action action, double measuredSeconds) {
+        return samples.get(action).stats(action, measuredSeconds);
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int failures;
+
+        synchronized void add(long value, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!success) {
+                failures++;
+            }
+        }
+
+        synchronized ActionStats stats(Action action, double measuredSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new ActionStats(action.getKey(), count, failures,
+                    measuredSeconds > 0 ? count / measuredSeconds : 0,
+                    percentileMillis(sorted, 50), percentileMillis(sorted, 95), percentileMillis(sorted, 99),
+                    count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+        }
+
+        // Nearest-rank percentile
+        private static double percentileMillis(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Results for one action; latencies are in milliseconds.
+     */
+    public record ActionStats(String action, int requests, int errors, double throughputPerSecond,
+                              double p50, double p95, double p99, double max) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todo.api.load;
+
+import com.example.todo.api.load.LatencyRecorder.ActionStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * The results of a load test run: per-action statistics, the settings they were measured with and the SLO
+ * violations, written as JSON so runs can be compared by tooling.
+ */
+public class LoadReport {
+
+    private final LoadSettings settings;
+    private final List<ActionStats> actions;
+    private final List<String> violations = new ArrayList<>();
+
+    public LoadReport(LoadSettings settings, LatencyRecorder recorder, double measuredSeconds) {
+        this.settings = settings;
+        this.actions = new ArrayList<>();
+        for (Action action : Action.values()) {
+            ActionStats stats = recorder.stats(action, measuredSeconds);
+            if (stats.requests() > 0) {
+                actions.add(stats);
+                checkObjectives(action, stats);
+            }
+        }
+    }
+
+    public List<ActionStats> getActions() {
+        return actions;
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    public Path write() throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("users", settings.getUsers());
+        report.put("durationSeconds", settings.getDuration().toSeconds());
+        report.put("thinkTimeMillis", settings.getThinkTime().toMillis());
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (ActionStats stats : actions) {
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", stats.action());
+            endpoint.put("requests", stats.requests());
+            endpoint.put("errors", stats.errors());
+            endpoint.put("errorRate", stats.errorRate());
+            endpoint.put("throughputPerSecond", stats.throughputPerSecond());
+            endpoint.put("p50Millis", stats.p50());
+            endpoint.put("p95Millis", stats.p95());
+            endpoint.put("p99Millis", stats.p99());
+            endpoint.put("maxMillis", stats.max());
+            endpoints.add(endpoint);
+        }
+        report.put("endpoints", endpoints);
+        report.put("sloViolations", violations);
+
+        Path path = Path.of(settings.getReportPath());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+        return path;
+    }
+
+    private void checkObjectives(Action action, ActionStats stats) {
+        if (stats.errorRate() > settings.getMaxErrorRate()) {
+            violations.add(String.format("%s error rate %.2f%% is above %.2f%%",
+                    action.getKey(), stats.errorRate() * 100, settings.getMaxErrorRate() * 100));
+        }
+        checkLatency(action, "p95", stats.p95());
+        checkLatency(action, "p99", stats.p99());
+    }
+
+    private void checkLatency(Action action, String percentile, double measured) {
+        OptionalLong objective = settings.latencyObjective(action, percentile);
+        if (objective.isPresent() && measured > objective.getAsLong()) {
+            violations.add(String.format("%s %s latency %.1fms is above %dms",
+                    action.getKey(), percentile, measured, objective.getAsLong()));
+        }
+    }
+}
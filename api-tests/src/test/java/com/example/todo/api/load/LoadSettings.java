@@ -0,0 +1,70 @@
+package com.example.todo.api.load;
+
+import com.example.todo.api.config.ConfigurationManager;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Load test settings from the {@code load.*} keys of config.properties, overridable with system properties.
+ */
+@Getter
+public class LoadSettings {
+
+    private final int users;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration thinkTime;
+    private final Map<Action, Integer> mix;
+    private final String reportPath;
+    private final double maxErrorRate;
+
+    private LoadSettings(int users, Duration warmup, Duration duration, Duration thinkTime, Map<Action, Integer> mix,
+                         String reportPath, double maxErrorRate) {
+        this.users = users;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.thinkTime = thinkTime;
+        this.mix = mix;
+        this.reportPath = reportPath;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public static LoadSettings load() {
+        return new LoadSettings(
+                Integer.parseInt(property("load.users", "10")),
+                Duration.ofSeconds(Long.parseLong(property("load.warmup.seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("load.duration.seconds", "60"))),
+                Duration.ofMillis(Long.parseLong(property("load.think-time.ms", "100"))),
+                parseMix(property("load.mix", "list-todos:1")),
+                property("load.report", "target/load-report.json"),
+                Double.parseDouble(property("load.slo.error-rate", "0.01")));
+    }
+
+    /**
+     * The latency objective for a percentile of an action, e.g. {@code load.slo.login.p95.ms}, if one is set.
+     */
+    public OptionalLong latencyObjective(Action action, String percentile) {
+        String value = property("load.slo." + action.getKey() + "." + percentile + ".ms", null);
+        return value == null ? OptionalLong.empty() : OptionalLong.of(Long.parseLong(value));
+    }
+
+    static Map<Action, Integer> parseMix(String mix) {
+        Map<Action, Integer> weights = new EnumMap<>(Action.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry, expected action:weight: " + entry);
+            }
+            weights.put(Action.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String property(String key, String defaultValue) {
+        return ConfigurationManager.getProperty(key, defaultValue);
+    }
+}
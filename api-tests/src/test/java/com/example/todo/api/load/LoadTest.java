@@ -0,0 +1,93 @@
+package com.example.todo.api.load;
+
+import com.example.todo.api.clients.UserClient;
+import com.example.todo.api.load.LatencyRecorder.ActionStats;
+import com.example.todo.api.models.UserDto;
+import com.example.todo.api.tests.BaseTest;
+import com.example.todo.api.utils.TestUtils;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives concurrent virtual users against a running application and fails when a service level objective
+ * from config.properties is missed. Only runs with the {@code load} Maven profile.
+ */
+@Epic("Performance")
+@Feature("Load Test")
+public class LoadTest extends BaseTest {
+
+    private final UserClient userClient = new UserClient();
+
+    @Test(groups = "load", description = "Mixed workload stays within the service level objectives")
+    public void mixedWorkloadMeetsServiceLevelObjectives() throws Exception {
+        LoadSettings settings = LoadSettings.load();
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        List<UserDto> users = new ArrayList<>();
+        for (int i = 0; i < settings.getUsers(); i++) {
+            users.add(registerNewUser());
+        }
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            // Each user assigns its todos to the next one, so every user also has assignments to respond to
+            String assignee = users.get((i + 1) % users.size()).getUsername();
+            virtualUsers.add(new VirtualUser(users.get(i), assignee, settings, recorder));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers.size());
+        virtualUsers.forEach(executor::submit);
+        long measuredNanos;
+        try {
+            Thread.sleep(settings.getWarmup().toMillis());
+            recorder.startMeasuring();
+            long start = System.nanoTime();
+            Thread.sleep(settings.getDuration().toMillis());
+            recorder.stopMeasuring();
+            measuredNanos = System.nanoTime() - start;
+        } finally {
+            virtualUsers.forEach(VirtualUser::stop);
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        LoadReport report = new LoadReport(settings, recorder, measuredNanos / 1e9);
+        Path reportPath = report.write();
+        Allure.addAttachment("Load report", "application/json", Files.readString(reportPath), ".json");
+        printSummary(report);
+
+        Assert.assertFalse(report.getActions().isEmpty(), "No requests were measured, is the application running?");
+        Assert.assertTrue(report.getViolations().isEmpty(),
+                "Service level objectives missed:\n" + String.join("\n", report.getViolations()));
+    }
+
+    private void printSummary(LoadReport report) {
+        System.out.printf("%-20s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (ActionStats stats : report.getActions()) {
+            System.out.printf("%-20s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", stats.action(), stats.requests(), stats.errors(),
+                    stats.throughputPerSecond(), stats.p50(), stats.p95(), stats.p99());
+        }
+    }
+
+    private UserDto registerNewUser() {
+        String username = TestUtils.generateRandomUsername();
+        UserDto user = UserDto.builder()
+                .username(username)
+                .password("password")
+                .confirmPassword("password")
+                .email(TestUtils.generateRandomEmail())
+                .build();
+        userClient.registerUser(user);
+        return user;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.todo.api.load;
+
+import com.example.todo.api.clients.AssignmentClient;
+import com.example.todo.api.clients.AuthClient;
+import com.example.todo.api.clients.NotificationClient;
+import com.example.todo.api.clients.TodoClient;
+import com.example.todo.api.models.RespondAssignmentRequestDto;
+import com.example.todo.api.models.TodoDto;
+import com.example.todo.api.models.UserDto;
+import com.example.todo.api.utils.TestUtils;
+import io.restassured.response.Response;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One simulated user. It repeatedly picks an action from the configured mix and runs it through the API clients
+ * until stopped. Todos are assigned to the next virtual user, which accepts them when it picks the respond action.
+ * <p>
+ * An action that has nothing to work on falls back to the step that produces it: assigning without an
+ * unassigned todo creates one, and responding without a pending assignment lists the todos to find one.
+ */
+public class VirtualUser implements Runnable {
+
+    private static final Pattern PENDING_ASSIGNMENT = Pattern.compile("openAcceptModal\\((\\d+)\\)");
+
+    private final UserDto user;
+    private final String assignee;
+    private final LoadSettings settings;
+    private final LatencyRecorder recorder;
+    private final List<Action> weightedActions;
+
+    private final AuthClient authClient = new AuthClient();
+    private final TodoClient todoClient = new TodoClient();
+    private final AssignmentClient assignmentClient = new AssignmentClient();
+    private final NotificationClient notificationClient = new NotificationClient();
+
+    // Created todos whose id has not been seen in the todo list yet
+    private final List<String> unresolvedTodos = new ArrayList<>();
+    private final Deque<Integer> assignableTodos = new ArrayDeque<>();
+    private final Deque<Long> pendingAssignments = new ArrayDeque<>();
+    private final Set<Long> respondedAssignments = new HashSet<>();
+
+    private volatile boolean running = true;
+    private String token;
+    private int createdTodos;
+
+    public VirtualUser(UserDto user, String assignee, LoadSettings settings, LatencyRecorder recorder) {
+        this.user = user;
+        this.assignee = assignee;
+        this.settings = settings;
+        this.recorder = recorder;
+        this.weightedActions = new ArrayList<>();
+        for (Map.Entry<Action, Integer> entry : settings.getMix().entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                weightedActions.add(entry.getKey());
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        login();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            perform(weightedActions.get(ThreadLocalRandom.current().nextInt(weightedActions.size())));
+            pause();
+        }
+    }
+
+    private void perform(Action action) {
+        switch (action) {
+            case LOGIN -> login();
+            case LIST_TODOS -> listTodos();
+            case CREATE_TODO -> createTodo();
+            case ASSIGN_TODO -> {
+                if (assignableTodos.isEmpty()) {
+                    createTodo();
+                } else {
+                    assignTodo(assignableTodos.poll());
+                }
+            }
+            case RESPOND_ASSIGNMENT -> {
+                if (pendingAssignments.isEmpty()) {
+                    listTodos();
+                } else {
+                    respond(pendingAssignments.poll());
+                }
+            }
+            case POLL_NOTIFICATIONS -> measure(Action.POLL_NOTIFICATIONS, 200,
+                    () -> notificationClient.getUnreadNotifications(token));
+        }
+    }
+
+    private void login() {
+        long start = System.nanoTime();
+        String newToken;
+        try {
+            newToken = authClient.getAuthToken(user.getUsername(), user.getPassword());
+        } catch (RuntimeException e) {
+            newToken = null;
+        }
+        recorder.record(Action.LOGIN, System.nanoTime() - start, newToken != null);
+        if (newToken != null) {
+            token = newToken;
+        }
+    }
+
+    private void listTodos() {
+        Response response = measure(Action.LIST_TODOS, 200, () -> todoClient.getTodos(token));
+        if (response == null) {
+            return;
+        }
+        String html = response.getBody().asString();
+        unresolvedTodos.removeIf(description -> {
+            Integer id = TestUtils.extractTodoIdFromHtml(html, description);
+            if (id != null) {
+                assignableTodos.add(id);
+            }
+            return id != null;
+        });
+        Matcher matcher = PENDING_ASSIGNMENT.matcher(html);
+        while (matcher.find()) {
+            long assignmentId = Long.parseLong(matcher.group(1));
+            if (!respondedAssignments.contains(assignmentId) && !pendingAssignments.contains(assignmentId)) {
+                pendingAssignments.add(assignmentId);
+            }
+        }
+    }
+
+    private void createTodo() {
+        String description = "Load " + user.getUsername() + " " + createdTodos;
+        // Each new todo gets an earlier target date than the previous one, so it is on the first page of the list
+        TodoDto todo = TodoDto.builder()
+                .description(description)
+                .targetDate(LocalDate.now().plusYears(10).minusDays(createdTodos++))
+                .done(false)
+                .build();
+        if (measure(Action.CREATE_TODO, 302, () -> todoClient.createTodo(todo, token)) != null) {
+            unresolvedTodos.add(description);
+        }
+    }
+
+    private void assignTodo(int todoId) {
+        measure(Action.ASSIGN_TODO, 200, () -> assignmentClient.assignTodo(todoId, assignee, token));
+    }
+
+    private void respond(long assignmentId) {
+        respondedAssignments.add(assignmentId);
+        RespondAssignmentRequestDto request = RespondAssignmentRequestDto.builder()
+                .action("accept")
+                .tentativeCompletionDate(LocalDate.now().plusDays(5))
+                .build();
+        measure(Action.RESPOND_ASSIGNMENT, 200, () -> assignmentClient.respondToAssignment(assignmentId, request, token));
+    }
+
+    /**
+     * Runs and times a request; returns the response, or null when the request failed or returned an
+     * unexpected status.
+     */
+    private Response measure(Action action, int expectedStatus, Supplier<Response> request) {
+        long start = System.nanoTime();
+        try {
+            Response response = request.get();
+            boolean success = response.getStatusCode() == expectedStatus;
+            recorder.record(action, System.nanoTime() - start, success);
+            return success ? response : null;
+        } catch (RuntimeException e) {
+            recorder.record(action, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private void pause() {
+        long thinkTime = settings.getThinkTime().toMillis();
+        if (thinkTime <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkTime / 2, thinkTime * 3 / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -54,8 +54,7 @@ public class NotificationLifecycleTest extends BaseTest {
 
         // 3. User B checks notifications
         String tokenB = authClient.getAuthToken(userB.getUsername(), userB.getPassword());
-        List<NotificationDTO> notifications = notificationClient.getUnreadNotifications(tokenB)
-                .jsonPath().getList(".", NotificationDTO.class);
+        List<NotificationDTO> notifications = notificationClient.awaitUnreadNotification(tokenB, "has assigned you a new todo");
         
         NotificationDTO targetNotification = notifications.stream()
                 .filter(n -> n.getMessage().contains("has assigned you a new todo"))
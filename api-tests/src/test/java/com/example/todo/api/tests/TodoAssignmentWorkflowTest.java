@@ -65,8 +65,7 @@ public class TodoAssignmentWorkflowTest extends BaseTest {
         Assert.assertNotNull(tokenB, "Token for User B should not be null");
 
         // Step 6: User B fetches their notifications
-        List<NotificationDTO> notificationsB = notificationClient.getUnreadNotifications(tokenB)
-                .jsonPath().getList(".", NotificationDTO.class);
+        List<NotificationDTO> notificationsB = notificationClient.awaitUnreadNotification(tokenB, "has assigned you a new todo");
         
         boolean hasAssignmentNotification = notificationsB.stream()
                 .anyMatch(n -> n.getMessage().contains("has assigned you a new todo"));
@@ -86,8 +85,7 @@ public class TodoAssignmentWorkflowTest extends BaseTest {
 
         // Step 8: User A logs in (already have tokenA)
         // Step 9: User A fetches their notifications
-        List<NotificationDTO> notificationsA = notificationClient.getUnreadNotifications(tokenA)
-                .jsonPath().getList(".", NotificationDTO.class);
+        List<NotificationDTO> notificationsA = notificationClient.awaitUnreadNotification(tokenA, "accepted your assignment");
         
         boolean hasAcceptedNotification = notificationsA.stream()
                 .anyMatch(n -> n.getMessage().contains("accepted your assignment"));
@@ -125,8 +123,7 @@ public class TodoAssignmentWorkflowTest extends BaseTest {
                 .then().statusCode(200);
         
         // Check User A notification
-        List<NotificationDTO> notificationsA = notificationClient.getUnreadNotifications(tokenA)
-                .jsonPath().getList(".", NotificationDTO.class);
+        List<NotificationDTO> notificationsA = notificationClient.awaitUnreadNotification(tokenA, "declined your assignment");
         
         boolean hasDeclinedNotification = notificationsA.stream()
                 .anyMatch(n -> n.getMessage().contains("declined your assignment"));
@@ -0,0 +1,81 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import com.learn.spring.todoapp.entity.TodoAssignment;
+import com.learn.spring.todoapp.service.NotificationWriter;
+import com.learn.spring.todoapp.service.TodoAssignmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TodoAssignmentService#assignTodo} on a random seeded todo, committed as a request would commit it. The
+ * commit runs the after-commit listeners as well: the notification is queued for {@link NotificationWriter}, and
+ * the unread counters, the notification stream and the todo access cache receive their events. The writer stores
+ * the notification on its own thread, so that INSERT overlaps with later calls instead of being timed.
+ * <p>
+ * Each assignment is deleted after its call, outside the measurement, so the todo can be assigned again. The
+ * notifications written during an iteration are deleted after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentBenchmark {
+
+    private TodoAssignmentService assignmentService;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private NotificationWriter notificationWriter;
+    private long lastSeededNotification;
+    private TodoAssignment assignment;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        assignmentService = application.getBean(TodoAssignmentService.class);
+        transactionTemplate = application.getBean(TransactionTemplate.class);
+        jdbcTemplate = application.getBean(JdbcTemplate.class);
+        notificationWriter = application.getBean(NotificationWriter.class);
+        lastSeededNotification = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM notification", Long.class);
+    }
+
+    @Benchmark
+    public TodoAssignment assignTodo(SeededApplication application) {
+        int todo = application.randomTodo();
+        String assignee = DatabaseSeeder.owner(todo + 1);
+        assignment = transactionTemplate.execute(status ->
+                assignmentService.assignTodo(DatabaseSeeder.FIRST_TODO_ID + todo, DatabaseSeeder.owner(todo), assignee));
+        return assignment;
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteAssignment() {
+        if (assignment != null) {
+            jdbcTemplate.update("DELETE FROM todo_assignment WHERE id = ?", assignment.getId());
+            assignment = null;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteNotifications() throws InterruptedException {
+        while (notificationWriter.getQueueSize() > 0) {
+            Thread.sleep(10);
+        }
+        // A batch the writer took off the queue just now may land afterwards; the next iteration removes it
+        jdbcTemplate.update("DELETE FROM notification WHERE id > ?", lastSeededNotification);
+    }
+}
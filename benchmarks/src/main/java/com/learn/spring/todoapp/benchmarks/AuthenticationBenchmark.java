@@ -0,0 +1,63 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import com.learn.spring.todoapp.repository.AuthorityRepository;
+import com.learn.spring.todoapp.security.BoundedUserCache;
+import com.learn.spring.todoapp.security.DatabaseUserDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user lookup done on every login, with and without the user cache, and the authority query behind it.
+ * Runs with several threads so contention on shared resources such as the console shows up as lost throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuthenticationBenchmark {
+
+    private DatabaseUserDetailsService userDetailsService;
+    private BoundedUserCache userCache;
+    private AuthorityRepository authorityRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        userDetailsService = application.getBean(DatabaseUserDetailsService.class);
+        userCache = application.getBean(BoundedUserCache.class);
+        authorityRepository = application.getBean(AuthorityRepository.class);
+    }
+
+    @Benchmark
+    public UserDetails loadUserCached(SeededApplication application) {
+        return userDetailsService.loadUserByUsername(application.randomUsername());
+    }
+
+    @Benchmark
+    public UserDetails loadUserUncached(SeededApplication application) {
+        String username = application.randomUsername();
+        userCache.removeUserFromCache(username);
+        return userDetailsService.loadUserByUsername(username);
+    }
+
+    @Benchmark
+    public List<String> findAuthorities(SeededApplication application) {
+        return authorityRepository.findAuthoritiesByUsername(application.randomUsername());
+    }
+}
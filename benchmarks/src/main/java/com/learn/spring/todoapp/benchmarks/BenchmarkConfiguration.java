@@ -0,0 +1,53 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import com.learn.spring.todoapp.config.DataSourceConfig;
+import com.learn.spring.todoapp.config.MigrationConfig;
+import com.learn.spring.todoapp.config.StartupTimings;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.repository.AuthorityRepository;
+import com.learn.spring.todoapp.repository.NotificationBatchRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.security.BoundedUserCache;
+import com.learn.spring.todoapp.security.DatabaseUserDetailsService;
+import com.learn.spring.todoapp.service.NotificationService;
+import com.learn.spring.todoapp.service.NotificationStreamService;
+import com.learn.spring.todoapp.service.NotificationWriter;
+import com.learn.spring.todoapp.service.TodoAccessCache;
+import com.learn.spring.todoapp.service.TodoAssignmentService;
+import com.learn.spring.todoapp.service.UnreadNotificationCounter;
+import com.learn.spring.todoapp.service.UserReferences;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The smallest Spring context that runs the benchmarked code paths: the production data source, migrations,
+ * JPA repositories, the services under test and the listeners their committed transactions notify. Controllers,
+ * security filters and the web server are left out so the numbers only cover the code being measured.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class})
+@EntityScan(basePackageClasses = Todo.class)
+@EnableJpaRepositories(basePackageClasses = TodoRepository.class)
+@Import({
+        DataSourceConfig.class,
+        MigrationConfig.class,
+        StartupTimings.class,
+        AuthorityRepository.class,
+        BoundedUserCache.class,
+        DatabaseUserDetailsService.class,
+        UnreadNotificationCounter.class,
+        NotificationBatchRepository.class,
+        NotificationWriter.class,
+        NotificationService.class,
+        NotificationStreamService.class,
+        TodoAccessCache.class,
+        UserReferences.class,
+        TodoAssignmentService.class
+})
+public class BenchmarkConfiguration {
+}
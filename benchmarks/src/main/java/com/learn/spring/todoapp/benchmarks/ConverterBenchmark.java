@@ -0,0 +1,45 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import com.learn.spring.todoapp.entity.LocalDateConverter;
+import com.learn.spring.todoapp.entity.LocalDateTimeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips through the attribute converters that store dates as TEXT, run for every date column read or
+ * written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private final LocalDateConverter dateConverter = new LocalDateConverter();
+    private final LocalDateTimeConverter dateTimeConverter = new LocalDateTimeConverter();
+    private final LocalDate date = LocalDate.of(2024, 12, 29);
+    private final LocalDateTime dateTime = LocalDateTime.of(2024, 12, 29, 10, 30, 15, 123_000_000);
+
+    @Benchmark
+    public LocalDate localDateRoundTrip() {
+        return dateConverter.convertToEntityAttribute(dateConverter.convertToDatabaseColumn(date));
+    }
+
+    @Benchmark
+    public LocalDateTime localDateTimeRoundTrip() {
+        return dateTimeConverter.convertToEntityAttribute(dateTimeConverter.convertToDatabaseColumn(dateTime));
+    }
+}
@@ -0,0 +1,91 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Fills a migrated database with benchmark users, todos and notifications using batched JDBC inserts.
+ * <p>
+ * Todo {@code k} has id {@code FIRST_TODO_ID + k} and belongs to {@code owner(k)}, so benchmarks can pick
+ * valid (todo, owner) pairs without querying. There is one notification for every ten todos, alternately read
+ * and unread, spread evenly over the users.
+ */
+final class DatabaseSeeder {
+
+    static final int USERS = 50;
+    static final int FIRST_TODO_ID = 100_000;
+
+    private static final int BATCH_SIZE = 10_000;
+    // BCrypt hash of "password", the same one the demo data uses
+    private static final String PASSWORD = "$2a$10$GRLdNijSQMUvl/au9ofL.eDwmoohzzS7.rmNSJZ.0FxO/BTk76klW";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    DatabaseSeeder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    static String username(int user) {
+        return "bench-user-" + user;
+    }
+
+    static String owner(int todo) {
+        return username(todo % USERS);
+    }
+
+    /**
+     * Seeds the database unless it already holds the requested number of benchmark todos, so a database file
+     * can be reused across forks and runs.
+     */
+    void seed(int todos) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo WHERE id >= ?", Integer.class, FIRST_TODO_ID);
+        if (existing != null && existing == todos) {
+            return;
+        }
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Database already holds " + existing + " benchmark todos, expected " + todos);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            insert("INSERT INTO users (username, password, email, enabled) VALUES (?, ?, ?, 1)", USERS,
+                    user -> new Object[]{username(user), PASSWORD, username(user) + "@example.com"});
+            insert("INSERT INTO authorities (username, authority) VALUES (?, 'ROLE_USER')", USERS,
+                    user -> new Object[]{username(user)});
+
+            LocalDate today = LocalDate.now();
+            insert("INSERT INTO todo (id, username, description, target_date, done) VALUES (?, ?, ?, ?, 0)", todos,
+                    todo -> new Object[]{FIRST_TODO_ID + todo, owner(todo), "Benchmark todo " + todo,
+                            today.plusDays(todo % 365).toString()});
+
+            LocalDateTime start = LocalDateTime.now().minusDays(30);
+            insert("INSERT INTO notification (recipient_username, message, is_read, related_todo_id, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?)", todos / 10,
+                    notification -> new Object[]{username(notification % USERS), "Benchmark notification " + notification,
+                            notification % 2, FIRST_TODO_ID + notification * 10,
+                            start.plusSeconds(notification).toString()});
+        });
+    }
+
+    private void insert(String sql, int rows, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(Math.min(rows, BATCH_SIZE));
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
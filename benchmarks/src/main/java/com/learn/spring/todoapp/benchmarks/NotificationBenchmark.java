@@ -0,0 +1,63 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learn.spring.todoapp.dto.NotificationDTO;
+import com.learn.spring.todoapp.entity.Notification;
+import com.learn.spring.todoapp.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The unread notification list: the query, the entity to DTO mapping done by {@code NotificationController}
+ * and the JSON serialization of the response body. The mapping and serialization benchmarks work on the unread
+ * notifications of one user loaded during setup, so they do not touch the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationBenchmark {
+
+    private NotificationService notificationService;
+    private ObjectMapper objectMapper;
+    private List<Notification> unread;
+    private List<NotificationDTO> unreadDtos;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        notificationService = application.getBean(NotificationService.class);
+        objectMapper = application.getBean(ObjectMapper.class);
+        unread = notificationService.getUnreadUserNotifications(DatabaseSeeder.username(0));
+        unreadDtos = convertToDTO();
+    }
+
+    @Benchmark
+    public List<Notification> getUnreadUserNotifications(SeededApplication application) {
+        return notificationService.getUnreadUserNotifications(application.randomUsername());
+    }
+
+    @Benchmark
+    public List<NotificationDTO> convertToDTO() {
+        return unread.stream().map(NotificationDTO::from).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeUnread() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(unreadDtos);
+    }
+}
@@ -0,0 +1,85 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link BenchmarkConfiguration} context running against a SQLite file seeded with {@link #todos} todos.
+ * <p>
+ * Seeded files are kept in {@code benchmark.data.dir} (default {@code target/benchmark-data}) and reused by
+ * later forks and runs, so a large database is only built once.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    @Param({"1000", "100000", "1000000"})
+    public int todos;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        Path dataDir = Path.of(System.getProperty("benchmark.data.dir", "target/benchmark-data"));
+        Files.createDirectories(dataDir);
+        Path database = dataDir.resolve("todos-" + todos + ".db").toAbsolutePath();
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        args.addAll(arguments());
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        new DatabaseSeeder(getBean(JdbcTemplate.class), getBean(TransactionTemplate.class)).seed(todos);
+        started();
+    }
+
+    /**
+     * Extra application arguments for benchmarks that need a differently configured context.
+     */
+    protected List<String> arguments() {
+        return List.of();
+    }
+
+    /**
+     * Called once the context is running and the database is seeded.
+     */
+    protected void started() {
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Index of a random seeded todo, see {@link DatabaseSeeder}.
+     */
+    int randomTodo() {
+        return ThreadLocalRandom.current().nextInt(todos);
+    }
+
+    String randomUsername() {
+        return DatabaseSeeder.username(ThreadLocalRandom.current().nextInt(DatabaseSeeder.USERS));
+    }
+}
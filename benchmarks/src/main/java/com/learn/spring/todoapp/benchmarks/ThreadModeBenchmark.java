@@ -0,0 +1,103 @@
+package com.learn.spring.todoapp.benchmarks;
+
+import com.learn.spring.todoapp.service.NotificationService;
+import org.apache.tomcat.util.threads.TaskQueue;
+import org.apache.tomcat.util.threads.TaskThreadFactory;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform versus virtual thread request execution. Each operation is a burst of concurrent requests that read
+ * unread notifications, submitted to the executor Tomcat's connector would hand them to: its worker pool built
+ * with Boot's default thread limits, or the virtual thread executor Boot installs when
+ * {@code spring.threads.virtual.enabled} is set. The context is started with that property matching the mode, so
+ * the virtual-thread connection pool sizing applies as well, and the reads are read-only transactions served by
+ * the SQLite reader pool.
+ * <p>
+ * HTTP parsing, the filter chain and response writing are not included, so the numbers compare thread modes for
+ * the database work only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModeBenchmark extends SeededApplication {
+
+    // Boot's defaults for server.tomcat.threads.min-spare and server.tomcat.threads.max
+    private static final int MIN_SPARE_THREADS = 10;
+    private static final int MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200"})
+    public int concurrentRequests;
+
+    private ExecutorService executor;
+    private NotificationService notificationService;
+
+    @Override
+    protected List<String> arguments() {
+        return List.of("--spring.threads.virtual.enabled=" + isVirtual());
+    }
+
+    @Override
+    protected void started() {
+        notificationService = getBean(NotificationService.class);
+        executor = isVirtual() ? new VirtualThreadExecutor("tomcat-handler-") : platformExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int concurrentReads() throws Exception {
+        List<Future<Integer>> requests = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            String username = randomUsername();
+            requests.add(executor.submit(() -> notificationService.getUnreadUserNotifications(username).size()));
+        }
+        int total = 0;
+        for (Future<Integer> request : requests) {
+            total += request.get();
+        }
+        return total;
+    }
+
+    /**
+     * The worker pool as Tomcat's endpoint creates it, growing to the maximum before it queues.
+     */
+    private static ExecutorService platformExecutor() {
+        TaskQueue queue = new TaskQueue();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MIN_SPARE_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS,
+                queue, new TaskThreadFactory("http-nio-exec-", true, Thread.NORM_PRIORITY));
+        queue.setParent(executor);
+        return executor;
+    }
+
+    private boolean isVirtual() {
+        return "virtual".equals(threads);
+    }
+}
@@ -0,0 +1,73 @@
+package com.learn.spring.todoapp.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Map of at most {@code maxSize} entries that drops the least recently used entry when a put goes past the limit.
+ * <p>
+ * Entries are kept in a {@link LinkedHashMap} in access order behind a short lock, so a read moves its entry to the
+ * back and an insert evicts from the front in constant time, whatever the size of the cache. Expiry, if any, is up
+ * to the caller, which can store a timestamp in the value.
+ */
+public final class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, V> entries;
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= LruCache.this.maxSize) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@code null}, and marks it as the most recently used.
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    /**
+     * Removes {@code key} only while it still maps to {@code value}.
+     */
+    public synchronized boolean remove(K key, V value) {
+        return entries.remove(key, value);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entries dropped to stay within {@code maxSize}; explicit removals are not counted.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
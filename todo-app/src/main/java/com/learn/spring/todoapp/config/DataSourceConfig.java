@@ -1,15 +1,30 @@
 package com.learn.spring.todoapp.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary; // Added for explicit DataSource preference
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+
+import java.io.Closeable;
 
 @Configuration
 public class DataSourceConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    private static final String SQLITE_URL_PREFIX = "jdbc:sqlite:";
+
     @Value("${spring.datasource.url}")
     private String datasourceUrl;
 
@@ -18,6 +33,25 @@ public class DataSourceConfig {
     @Value("${spring.datasource.driver-class-name:org.sqlite.JDBC}")
     private String datasourceDriverClassName;
 
+    // SQLite pool and PRAGMA tuning, only used when the URL points at a SQLite file.
+    @Value("${todo.datasource.sqlite.reader-pool-size:4}")
+    private int sqliteReaderPoolSize;
+
+    @Value("${todo.datasource.sqlite.busy-timeout:5000}")
+    private int sqliteBusyTimeout;
+
+    @Value("${todo.datasource.sqlite.cache-size:-16000}")
+    private int sqliteCacheSize;
+
+    @Value("${todo.datasource.sqlite.mmap-size:268435456}")
+    private long sqliteMmapSize;
+
+    @Value("${todo.datasource.sqlite.connection-timeout:30000}")
+    private long sqliteConnectionTimeout;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     // SQLite typically doesn't require username/password for local file DBs.
     // If your setup requires them, uncomment and configure these properties:
     // @Value("${spring.datasource.username:}")
@@ -30,6 +64,16 @@ public class DataSourceConfig {
     @Bean
     @Primary
     DataSource dataSource() {
+        if (datasourceUrl.startsWith(SQLITE_URL_PREFIX)) {
+            int carriers = carrierParallelism();
+            int readerPoolSize = sqliteReaderPoolSize(sqliteReaderPoolSize, virtualThreads, carriers);
+            if (readerPoolSize < sqliteReaderPoolSize) {
+                logger.info("Virtual threads enabled, limiting the SQLite reader pool to {} connection(s) for {} carrier(s)",
+                        readerPoolSize, carriers);
+            }
+            return sqliteDataSource(datasourceUrl, new SqliteSettings(readerPoolSize, sqliteBusyTimeout,
+                    sqliteCacheSize, sqliteMmapSize, sqliteConnectionTimeout));
+        }
         DataSourceBuilder<?> dataSourceBuilder = DataSourceBuilder.create();
         dataSourceBuilder.driverClassName(datasourceDriverClassName);
         dataSourceBuilder.url(datasourceUrl);
@@ -42,4 +86,125 @@ public class DataSourceConfig {
         // }
         return dataSourceBuilder.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Spring Boot only instruments the pool it finds behind the primary {@link DataSource}, which for SQLite is the
+     * writer. This binds the {@code hikaricp.connections.*} meters of both pools, tagged with the pool name.
+     */
+    @Bean
+    MeterBinder sqlitePoolMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof SqliteRoutingDataSource sqlite) {
+                bindPoolMetrics(sqlite.getWriter(), registry);
+                bindPoolMetrics(sqlite.getReader(), registry);
+            }
+        };
+    }
+
+    private static void bindPoolMetrics(HikariDataSource pool, MeterRegistry registry) {
+        // Hikari accepts a metrics tracker once per pool
+        if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+    }
+
+    /**
+     * SQLite allows a single writer at a time, so writes share one pooled connection and queue in the pool
+     * instead of failing with SQLITE_BUSY. In WAL mode readers do not block the writer, so read-only
+     * transactions get their own pool of read-only connections.
+     */
+    static SqliteRoutingDataSource sqliteDataSource(String url, SqliteSettings settings) {
+        // The writer pool is created first: it creates the database file and switches it to WAL,
+        // which is persistent and is what lets the read-only connections open it concurrently.
+        HikariDataSource writer = sqlitePool(url, "sqlite-writer", 1, false, settings);
+        HikariDataSource reader = sqlitePool(url, "sqlite-reader", settings.readerPoolSize(), true, settings);
+        return new SqliteRoutingDataSource(writer, reader);
+    }
+
+    /**
+     * The SQLite driver runs every statement in native code inside {@code synchronized} methods, which pins a
+     * virtual thread to its carrier for the duration of the call. With virtual threads the pools are therefore
+     * sized so the writer and all readers together leave at least one carrier free where the machine allows it;
+     * callers beyond that wait for a connection in the pool, which parks the virtual thread without pinning.
+     */
+    static int sqliteReaderPoolSize(int configured, boolean virtualThreads, int carrierParallelism) {
+        if (!virtualThreads) {
+            return configured;
+        }
+        // One carrier for the writer and one kept free
+        return Math.max(1, Math.min(configured, carrierParallelism - 2));
+    }
+
+    private static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+
+    private static HikariDataSource sqlitePool(String url, String poolName, int poolSize, boolean readOnly,
+                                               SqliteSettings settings) {
+        SQLiteConfig sqliteConfig = new SQLiteConfig();
+        sqliteConfig.setBusyTimeout(settings.busyTimeout());
+        sqliteConfig.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        sqliteConfig.setCacheSize(settings.cacheSize());
+        sqliteConfig.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        sqliteConfig.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(settings.mmapSize()));
+        if (readOnly) {
+            sqliteConfig.setReadOnly(true);
+        } else {
+            sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        }
+
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(poolName);
+        hikariConfig.setDriverClassName("org.sqlite.JDBC");
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setDataSourceProperties(sqliteConfig.toProperties());
+        hikariConfig.setMaximumPoolSize(poolSize);
+        hikariConfig.setMinimumIdle(poolSize);
+        hikariConfig.setReadOnly(readOnly);
+        hikariConfig.setConnectionTimeout(settings.connectionTimeout());
+        // File-backed connections do not go stale, so keep them for the lifetime of the pool
+        hikariConfig.setMaxLifetime(0);
+        hikariConfig.setIdleTimeout(0);
+        // Passing the config starts the pool now, so connections are opened by Hikari's own threads and
+        // request threads only borrow them; a lazily started pool does its first start inside a synchronized block
+        return new HikariDataSource(hikariConfig);
+    }
+
+    record SqliteSettings(int readerPoolSize, int busyTimeout, int cacheSize, long mmapSize, long connectionTimeout) {
+    }
+
+    /**
+     * Hands out the writer connection by default and a reader connection once the transaction marks the
+     * connection read-only, which Spring does for {@code @Transactional(readOnly = true)}. The physical
+     * connection is only fetched on first use, after the read-only flag is known.
+     * <p>
+     * For JPA transactions Spring only marks the connection while Hibernate holds it until the session closes, so
+     * Hibernate's connection handling mode must stay at that default for reads to reach the reader pool.
+     */
+    static class SqliteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final HikariDataSource writer;
+        private final HikariDataSource reader;
+
+        SqliteRoutingDataSource(HikariDataSource writer, HikariDataSource reader) {
+            super(writer);
+            setReadOnlyDataSource(reader);
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        HikariDataSource getWriter() {
+            return writer;
+        }
+
+        HikariDataSource getReader() {
+            return reader;
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.learn.spring.todoapp.config;
+
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+@Configuration
+public class MigrationConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationConfig.class);
+
+    /**
+     * Flyway compares the migrations with its history table and only runs the ones that have not been applied,
+     * so restarting against an up-to-date database costs a single metadata query.
+     */
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(StartupTimings startupTimings) {
+        return flyway -> {
+            MigrateResult result = startupTimings.time("schema-migration", flyway::migrate);
+            if (result.migrationsExecuted == 0) {
+                logger.info("Database schema is up to date at version {}", result.initialSchemaVersion);
+            } else {
+                logger.info("Applied {} migration(s), schema now at version {}",
+                        result.migrationsExecuted, result.targetSchemaVersion);
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.learn.spring.todoapp.config;
+
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.SQLExceptionConversionDelegate;
+import org.hibernate.internal.util.JdbcExceptionHelper;
+
+/**
+ * {@link SQLiteDialect} that reports constraint failures as {@link ConstraintViolationException}.
+ * <p>
+ * The community dialect leaves SQLITE_CONSTRAINT unmapped, so a unique index violation reaches the application as
+ * a generic JDBC error instead of Spring's {@code DataIntegrityViolationException}. Services that rely on a unique
+ * index to refuse a duplicate, such as assigning an already assigned todo, need the specific exception.
+ */
+public class SqliteDialect extends SQLiteDialect {
+
+    // Primary result code; extended codes such as SQLITE_CONSTRAINT_UNIQUE keep it in their low byte
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    @Override
+    public SQLExceptionConversionDelegate buildSQLExceptionConversionDelegate() {
+        SQLExceptionConversionDelegate delegate = super.buildSQLExceptionConversionDelegate();
+        return (sqlException, message, sql) -> {
+            if ((JdbcExceptionHelper.extractErrorCode(sqlException) & 0xFF) == SQLITE_CONSTRAINT) {
+                return new ConstraintViolationException(message, sqlException, sql,
+                        getViolatedConstraintNameExtractor().extractConstraintName(sqlException));
+            }
+            return delegate.convert(sqlException, message, sql);
+        };
+    }
+}
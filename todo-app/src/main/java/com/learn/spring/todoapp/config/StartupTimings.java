@@ -0,0 +1,71 @@
+package com.learn.spring.todoapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each startup phase takes and reports them, with the total, once the application is ready.
+ * A warning is logged when the total goes over {@code todo.startup.budget}.
+ */
+@Component
+public class StartupTimings {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimings.class);
+
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private final Duration budget;
+
+    public StartupTimings(@Value("${todo.startup.budget:30s}") Duration budget) {
+        this.budget = budget;
+    }
+
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public void time(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public synchronized void record(String phase, Duration duration) {
+        phases.merge(phase, duration, Duration::plus);
+    }
+
+    public synchronized Map<String, Duration> getPhases() {
+        return Map.copyOf(phases);
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Duration total = event.getTimeTaken();
+        String summary = summary(total);
+        if (total != null && total.compareTo(budget) > 0) {
+            logger.warn("Startup took longer than the {}ms budget: {}", budget.toMillis(), summary);
+        } else {
+            logger.info("Startup phases: {}", summary);
+        }
+    }
+
+    synchronized String summary(Duration total) {
+        StringBuilder summary = new StringBuilder();
+        phases.forEach((phase, duration) -> summary.append(phase).append('=').append(duration.toMillis()).append("ms, "));
+        return summary.append("total=").append(total == null ? "?" : total.toMillis() + "ms").toString();
+    }
+}
@@ -1,8 +1,10 @@
 package com.learn.spring.todoapp.controller;
 
+import com.learn.spring.todoapp.dto.MarkNotificationsReadRequest;
 import com.learn.spring.todoapp.dto.NotificationDTO;
 import com.learn.spring.todoapp.entity.Notification;
 import com.learn.spring.todoapp.service.NotificationService;
+import com.learn.spring.todoapp.service.NotificationStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,12 +13,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,9 +30,11 @@ import java.util.stream.Collectors;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, NotificationStreamService notificationStreamService) {
         this.notificationService = notificationService;
+        this.notificationStreamService = notificationStreamService;
     }
 
     @GetMapping
@@ -54,6 +61,40 @@ public class NotificationController {
                 .collect(Collectors.toList());
     }
     
+    @GetMapping("/count")
+    @Operation(
+        summary = "Get unread notification count",
+        description = "Returns the number of unread notifications for the currently authenticated user. " +
+                      "Served from an in-memory counter, so it is cheap enough to call on every page render."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the unread count"),
+        @ApiResponse(responseCode = "401", description = "Authentication required")
+    })
+    public Map<String, Long> getUnreadCount() {
+        String username = getLoggedInUsername();
+        return Map.of("count", notificationService.getUnreadCount(username));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream notifications",
+        description = "Opens a Server-Sent Events stream for the currently authenticated user. " +
+                      "An 'unread-count' event carries the current number of unread notifications, and a 'notification' " +
+                      "event is pushed for every new notification, using the notification ID as the event ID. " +
+                      "Reconnecting clients send Last-Event-ID to receive notifications they missed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Authentication required")
+    })
+    public SseEmitter streamNotifications(
+            @Parameter(description = "ID of the last notification event received before reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        String username = getLoggedInUsername();
+        return notificationStreamService.subscribe(username, lastEventId);
+    }
+
     @PostMapping("/{id}/read")
     @Operation(
         summary = "Mark notification as read",
@@ -67,18 +108,52 @@ public class NotificationController {
     public ResponseEntity<?> markAsRead(
             @Parameter(description = "The ID of the notification to mark as read", required = true)
             @PathVariable Long id) {
-        notificationService.markAsRead(id);
+        String username = getLoggedInUsername();
+        notificationService.markAsRead(username, List.of(id));
         return ResponseEntity.ok().body("{\"message\": \"Notification marked as read\"}");
     }
 
+    @PostMapping("/read")
+    @Operation(
+        summary = "Mark several notifications as read",
+        description = "Marks either the listed notifications or every notification created at or before the given " +
+                      "timestamp as read, in a single database update. Returns how many notifications changed and the " +
+                      "new unread count."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Notifications successfully marked as read"),
+        @ApiResponse(responseCode = "400", description = "Neither ids nor before given, or too many ids"),
+        @ApiResponse(responseCode = "401", description = "Authentication required")
+    })
+    public Map<String, Long> markSeveralAsRead(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "The notification IDs to mark as read, or a 'before' timestamp watermark",
+                required = true,
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = MarkNotificationsReadRequest.class)
+                )
+            )
+            @RequestBody MarkNotificationsReadRequest request) {
+        String username = getLoggedInUsername();
+        int updated;
+        if (request.getBefore() != null) {
+            updated = notificationService.markAllAsRead(username, request.getBefore());
+        } else if (request.getIds() != null && !request.getIds().isEmpty()) {
+            updated = notificationService.markAsRead(username, request.getIds());
+        } else {
+            throw new IllegalArgumentException("Either ids or before must be provided");
+        }
+        return Map.of("updated", (long) updated, "unreadCount", notificationService.getUnreadCount(username));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
     private NotificationDTO convertToDTO(Notification notification) {
-        NotificationDTO dto = new NotificationDTO();
-        dto.setId(notification.getId());
-        dto.setMessage(notification.getMessage());
-        dto.setRead(notification.isRead());
-        dto.setRelatedTodoId(notification.getRelatedTodoId());
-        dto.setCreatedAt(notification.getCreatedAt());
-        return dto;
+        return NotificationDTO.from(notification);
     }
 
     private String getLoggedInUsername() {
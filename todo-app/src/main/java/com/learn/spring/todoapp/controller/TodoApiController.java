@@ -0,0 +1,234 @@
+package com.learn.spring.todoapp.controller;
+
+import com.learn.spring.todoapp.dto.CursorPage;
+import com.learn.spring.todoapp.dto.ImportResult;
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.service.TodoExportService;
+import com.learn.spring.todoapp.service.TodoImportService;
+import com.learn.spring.todoapp.service.TodoQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/todos")
+@Tag(name = "Todo Management", description = "Create, read, update, and delete todo tasks")
+public class TodoApiController {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
+    private final TodoQueryService todoQueryService;
+    private final TodoImportService todoImportService;
+    private final TodoExportService todoExportService;
+
+    public TodoApiController(TodoQueryService todoQueryService, TodoImportService todoImportService,
+                             TodoExportService todoExportService) {
+        this.todoQueryService = todoQueryService;
+        this.todoImportService = todoImportService;
+        this.todoExportService = todoExportService;
+    }
+
+    @GetMapping
+    @Operation(
+        summary = "List user todos (paginated)",
+        description = "Returns one page of the current user's todos ordered by target date and id. " +
+                      "Pass the returned nextCursor back as the cursor parameter to fetch the following page. " +
+                      "The page size is capped by the server."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved a page of todos",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or filter value"),
+        @ApiResponse(responseCode = "401", description = "Authentication required")
+    })
+    public CursorPage<TodoDTO> listTodos(
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of todos to return (capped by the server)")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Only return completed (true) or pending (false) todos")
+            @RequestParam(required = false) Boolean done,
+            @Parameter(description = "Only return todos with a target date on or after this date", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only return todos with a target date on or before this date", example = "2024-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String username = getLoggedInUsername();
+        return todoQueryService.findTodos(username, done, from, to, cursor, size);
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export todos",
+        description = "Streams the current user's todos with their assignments as NDJSON (one todo per line, " +
+                      "assignments nested) or CSV (one line per todo and assignment). Administrators can pass " +
+                      "all=true to export every user's todos. The response is gzip-compressed when the client " +
+                      "accepts it. Rows are streamed from the database, so exports of any size use constant memory."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Todos are streamed in the requested format"),
+        @ApiResponse(responseCode = "400", description = "Unknown format"),
+        @ApiResponse(responseCode = "401", description = "Authentication required"),
+        @ApiResponse(responseCode = "403", description = "all=true requested by a non-administrator")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @Parameter(description = "ndjson or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Export every user's todos (administrators only)")
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        TodoExportService.Format exportFormat = switch (format.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> TodoExportService.Format.NDJSON;
+            case "csv" -> TodoExportService.Format.CSV;
+            default -> throw new IllegalArgumentException("Unknown export format: " + format);
+        };
+        if (all && !isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String owner = all ? null : getLoggedInUsername();
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GzipStream compressed = new GzipStream(output);
+                try {
+                    todoExportService.export(owner, exportFormat, compressed);
+                    compressed.finish();
+                } finally {
+                    compressed.release();
+                }
+            } else {
+                todoExportService.export(owner, exportFormat, output);
+            }
+        };
+        String extension = exportFormat == TodoExportService.Format.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.valueOf(exportFormat == TodoExportService.Format.CSV ? CSV : NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos." + extension + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    @Operation(
+        summary = "Bulk import todos",
+        description = "Streams todos from the request body into the current user's list. NDJSON bodies hold one todo " +
+                      "object per line (description, targetDate, done); CSV bodies need a header row naming the " +
+                      "description, targetDate and optional done columns. Administrators may add a username field to " +
+                      "import for other existing users. Invalid rows are skipped and reported. If the import stops " +
+                      "early, send the same body again with resumeFromLine set to the returned value."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "The whole input was processed",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResult.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Missing CSV columns or invalid resumeFromLine"),
+        @ApiResponse(responseCode = "401", description = "Authentication required"),
+        @ApiResponse(
+            responseCode = "500",
+            description = "The import stopped early; everything up to resumeFromLine is stored",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResult.class))
+        )
+    })
+    public ResponseEntity<ImportResult> importTodos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "Number of leading lines committed by an earlier attempt, to skip")
+            @RequestParam(defaultValue = "0") long resumeFromLine,
+            InputStream body) {
+        boolean admin = isAdmin();
+        TodoImportService.Format format = MediaType.valueOf(CSV).includes(contentType)
+                ? TodoImportService.Format.CSV : TodoImportService.Format.NDJSON;
+        ImportResult result = todoImportService.importTodos(getLoggedInUsername(), admin, format, body, resumeFromLine);
+        return ResponseEntity.status(result.isCompleted() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
+
+    private boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private String getLoggedInUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null) {
+            throw new IllegalStateException("Unauthenticated access");
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Whether the Accept-Encoding header lists gzip with a non-zero quality.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String[] parameter = parts[i].split("=", 2);
+                if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                    try {
+                        return Double.parseDouble(parameter[1].trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gzip stream whose deflater can be freed without finishing the stream or closing the response, so an export
+     * that fails midway neither leaks native memory nor ends in a well-formed but truncated gzip body.
+     */
+    private static final class GzipStream extends GZIPOutputStream {
+
+        private GzipStream(OutputStream output) throws IOException {
+            super(output, 8192);
+        }
+
+        private void release() {
+            def.end();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.learn.spring.todoapp.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
@@ -13,49 +16,71 @@ import org.springframework.ui.ModelMap;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import com.learn.spring.todoapp.dto.CursorPage;
+import com.learn.spring.todoapp.dto.TodoDTO;
 import com.learn.spring.todoapp.entity.Todo;
-import com.learn.spring.todoapp.entity.User;
-import com.learn.spring.todoapp.repository.TodoRepository;
-import com.learn.spring.todoapp.repository.UserRepository;
 import com.learn.spring.todoapp.service.TodoAssignmentService;
+import com.learn.spring.todoapp.service.TodoQueryService;
+import com.learn.spring.todoapp.service.TodoService;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.function.Supplier;
 
 @Controller
 @SessionAttributes("name")
 @Tag(name = "Todo Management", description = "Create, read, update, and delete todo tasks")
 public class TodoControllerJpa {
 
-    private final TodoRepository todoRepository;
-    private final UserRepository userRepository;
+    private final TodoService todoService;
     private final TodoAssignmentService todoAssignmentService;
+    private final TodoQueryService todoQueryService;
+    private final MeterRegistry meterRegistry;
 
-    public TodoControllerJpa(TodoRepository todoRepository, UserRepository userRepository, TodoAssignmentService todoAssignmentService) {
-        this.todoRepository = todoRepository;
-        this.userRepository = userRepository;
+    public TodoControllerJpa(TodoService todoService, TodoAssignmentService todoAssignmentService,
+                             TodoQueryService todoQueryService, MeterRegistry meterRegistry) {
+        this.todoService = todoService;
         this.todoAssignmentService = todoAssignmentService;
+        this.todoQueryService = todoQueryService;
+        this.meterRegistry = meterRegistry;
     }
 
     @GetMapping("list-todos")
     @Operation(
         summary = "List all user todos",
-        description = "Retrieves and displays all todos created by the currently authenticated user, " +
-                      "as well as todos that have been assigned to the user."
+        description = "Displays one page of todos created by the currently authenticated user, " +
+                      "as well as todos that have been assigned to the user. " +
+                      "Use the cursor from the 'Next' link to move through large todo lists."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Todo list page successfully displayed"),
         @ApiResponse(responseCode = "401", description = "Authentication required")
     })
-    public String listAllTodos(ModelMap model) {
-        String username = getLoggedInUsername();
-        List<Todo> todos = todoRepository.findByUsername(username);
-        model.addAttribute("todos", todos);
-        
-        var assignments = todoAssignmentService.getAssignmentsForUser(username);
-        model.addAttribute("assignedTodos", assignments);
-        
-        return "listTodos";
+    public String listAllTodos(
+            @Parameter(description = "Cursor of the page to display; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Only show completed (true) or pending (false) todos")
+            @RequestParam(required = false) Boolean done,
+            @Parameter(description = "Only show todos with a target date on or after this date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Only show todos with a target date on or before this date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            ModelMap model) {
+        return timed("list", () -> {
+            String username = getLoggedInUsername();
+            CursorPage<TodoDTO> page = todoQueryService.findTodos(username, done, from, to, cursor, null);
+            model.addAttribute("todos", page.getItems());
+            model.addAttribute("activeAssignees", todoAssignmentService.getActiveAssignees(
+                    page.getItems().stream().map(TodoDTO::getId).toList()));
+            model.addAttribute("nextCursor", page.getNextCursor());
+            model.addAttribute("done", done);
+            model.addAttribute("from", from);
+            model.addAttribute("to", to);
+
+            var assignments = todoAssignmentService.getAssignmentsForUser(username);
+            model.addAttribute("assignedTodos", assignments);
+
+            return "listTodos";
+        });
     }
 
     @GetMapping("add-todo")
@@ -69,8 +94,7 @@ public class TodoControllerJpa {
     })
     public String showNewTodoPage(ModelMap model) {
         String username = getLoggedInUsername();
-        Todo todo = new Todo(0, username, "", LocalDate.now().plusMonths(1), false);
-        model.put("todo", todo);
+        model.put("todo", new TodoDTO(0, username, "", LocalDate.now().plusMonths(1), false));
         return "todo";
     }
 
@@ -89,14 +113,10 @@ public class TodoControllerJpa {
             return "todo";
         }
 
-        String username = getLoggedInUsername();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalStateException("User not found: " + username));
-
-        todo.setUser(user); // This will also set the username field
-        todoRepository.save(todo);
-
-        return "redirect:/list-todos";
+        return timed("create", () -> {
+            todoService.createTodo(todo, getLoggedInUsername());
+            return "redirect:/list-todos";
+        });
     }
 
     @DeleteMapping("/todos/{id}")
@@ -113,17 +133,11 @@ public class TodoControllerJpa {
     public String deleteTodo(
             @Parameter(description = "The ID of the todo to delete", required = true)
             @PathVariable Integer id) {
-        // Verify the todo belongs to the current user before deleting
-        String username = getLoggedInUsername();
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid todo Id:" + id));
-
-        if (!todo.getUsername().equals(username)) {
-            throw new IllegalStateException("Not authorized to delete this todo");
-        }
-
-        todoRepository.deleteById(id);
-        return "redirect:/list-todos";
+        // Only the owner may delete the todo
+        return timed("delete", () -> {
+            todoService.deleteTodo(id, getLoggedInUsername());
+            return "redirect:/list-todos";
+        });
     }
 
     @GetMapping("/todos/{id}")
@@ -140,22 +154,11 @@ public class TodoControllerJpa {
         public String showUpdateTodoPage(
             @Parameter(description = "The ID of the todo to update", required = true)
             @PathVariable Integer id, ModelMap model) {
-        // Verify the todo belongs to the current user
-        String username = getLoggedInUsername();
-        Todo todo = todoRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid todo Id:" + id));
-
-        boolean isOwner = todo.getUsername().equals(username);
-        boolean isAssignee = todo.getAssignments().stream()
-                .anyMatch(a -> a.getAssignee().getUsername().equals(username) &&
-                        (a.getStatus() == com.learn.spring.todoapp.entity.AssignmentStatus.ACCEPTED));
-
-        if (!isOwner && !isAssignee) {
-            throw new IllegalStateException("Not authorized to update this todo");
-        }
-
-        model.addAttribute("todo", todo);
-        return "todo";
+        // The owner and users who accepted an assignment for the todo may edit it
+        return timed("read", () -> {
+            model.addAttribute("todo", todoService.getTodoForUpdate(id, getLoggedInUsername()));
+            return "todo";
+        });
     }
 
     @PutMapping("/todos/{id}")
@@ -176,40 +179,30 @@ public class TodoControllerJpa {
             return "todo";
         }
 
-        String username = getLoggedInUsername();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalStateException("User not found: " + username));
-
-        // Verify the todo belongs to the current user OR is assigned to the current user
-        Todo existingTodo = todoRepository.findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Invalid todo Id:" + id));
-
-        boolean isOwner = existingTodo.getUsername().equals(username);
-        // Check if assigned to user
-        boolean isAssignee = existingTodo.getAssignments().stream()
-                .anyMatch(a -> a.getAssignee().getUsername().equals(username) && 
-                              (a.getStatus() == com.learn.spring.todoapp.entity.AssignmentStatus.ACCEPTED));
+        return timed("update", () -> {
+            todoService.updateTodo(id, todo, getLoggedInUsername());
+            return "redirect:/list-todos";
+        });
+    }
 
-        if (!isOwner && !isAssignee) {
-             throw new IllegalStateException("Not authorized to update this todo");
+    /**
+     * Times one todo operation as {@code todo.operations}, tagged with the operation and whether it completed or
+     * threw. Form validation errors are rendered before the timer starts.
+     */
+    private String timed(String operation, Supplier<String> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String view = action.get();
+            outcome = "success";
+            return view;
+        } finally {
+            sample.stop(Timer.builder("todo.operations")
+                    .description("Todo page operations")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
-        
-           if (isAssignee) {
-               todo.setUser(existingTodo.getUser()); // Keep original owner
-           } else {
-               todo.setUser(user);
-           }
-
-           // ensure the id is set on the incoming todo object
-           todo.setId(id);
-
-           todoRepository.save(todo);
-
-           if (todo.isDone()) {
-              todoAssignmentService.completeAssignment(id);
-           }
-
-        return "redirect:/list-todos";
     }
 
     private String getLoggedInUsername() {
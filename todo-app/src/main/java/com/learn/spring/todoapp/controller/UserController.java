@@ -1,32 +1,39 @@
 package com.learn.spring.todoapp.controller;
 
+import com.learn.spring.todoapp.dto.CursorPage;
 import com.learn.spring.todoapp.dto.UserRegistrationDto;
 import com.learn.spring.todoapp.entity.User;
 import com.learn.spring.todoapp.repository.AuthorityRepository;
 import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.UserSearchIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import com.learn.spring.todoapp.dto.UserDTO;
@@ -38,38 +45,55 @@ public class UserController {
     private final UserRepository userRepository;
     private final AuthorityRepository authorityRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final UserSearchIndex userSearchIndex;
+    private final Duration searchMaxAge;
 
-    public UserController(UserRepository userRepository, AuthorityRepository authorityRepository, PasswordEncoder passwordEncoder) {
+    public UserController(UserRepository userRepository, AuthorityRepository authorityRepository,
+                          PasswordEncoder passwordEncoder, UserCache userCache, UserSearchIndex userSearchIndex,
+                          @Value("${todo.users.search.max-age:30s}") Duration searchMaxAge) {
         this.userRepository = userRepository;
         this.authorityRepository = authorityRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.userSearchIndex = userSearchIndex;
+        this.searchMaxAge = searchMaxAge;
     }
 
     @GetMapping("/api/users/search")
     @ResponseBody
     @Operation(
-        summary = "Search users by username",
-        description = "Search for users in the system by their username. Returns a list of matching users with username and email information. " +
-                      "Useful for finding users to assign tasks to."
+        summary = "Search users by username or email",
+        description = "Search for users by username or email, served from an in-memory index. Exact username matches come first, " +
+                      "then username prefixes, email prefixes and substrings of either. Queries shorter than two characters return " +
+                      "an empty page; substring matches need at least three. Pass the returned nextCursor back as the cursor " +
+                      "parameter for the next page. Responses carry a strong ETag and may be cached privately for a short time; " +
+                      "a matching If-None-Match returns 304. Useful for finding users to assign tasks to."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
             description = "Successfully retrieved matching users",
-            content = @Content(
-                mediaType = "application/json",
-                array = @ArraySchema(schema = @Schema(implementation = UserDTO.class))
-            )
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))
         ),
+        @ApiResponse(responseCode = "304", description = "The page is unchanged since the ETag sent in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
         @ApiResponse(responseCode = "401", description = "Authentication required")
     })
     @Tag(name = "User Management", description = "User-related operations including search and registration")
-    public List<UserDTO> searchUsers(
-            @Parameter(description = "Username search query (case-insensitive, supports partial matches)", required = true)
-            @RequestParam String username) {
-        return userRepository.findByUsernameContainingIgnoreCase(username).stream()
-                .map(user -> new UserDTO(user.getUsername(), user.getEmail()))
-                .collect(Collectors.toList());
+    public ResponseEntity<CursorPage<UserDTO>> searchUsers(
+            @Parameter(description = "Search query matched against usernames and emails (case-insensitive, supports partial matches)", required = true)
+            @RequestParam String username,
+            @Parameter(description = "Maximum number of users to return (default 10, at most 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor) {
+        UserSearchIndex.SearchResult result = userSearchIndex.search(username, limit, cursor);
+        // An ETag on the response entity makes a matching If-None-Match answer 304 without a body
+        return ResponseEntity.ok()
+                .eTag(result.etag())
+                .cacheControl(CacheControl.maxAge(searchMaxAge).cachePrivate())
+                .body(result.page());
     }
 
     @GetMapping("/register")
@@ -138,6 +162,8 @@ public class UserController {
 
         // Add ROLE_USER authority
         authorityRepository.addAuthority(userDto.getUsername(), "ROLE_USER");
+        userCache.removeUserFromCache(userDto.getUsername());
+        userSearchIndex.add(user.getUsername(), user.getEmail());
 
         // Auto-login after registration
         Authentication authentication = new UsernamePasswordAuthenticationToken(
@@ -149,4 +175,10 @@ public class UserController {
 
         return "redirect:/welcome";
     }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,36 @@
+package com.learn.spring.todoapp.dto;
+
+import com.learn.spring.todoapp.entity.AssignmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A todo assigned to the current user, flattened for list views")
+public class AssignedTodoDTO {
+    @Schema(description = "Unique identifier of the assignment", example = "7")
+    private Long id;
+
+    @Schema(description = "The ID of the assigned todo", example = "10001")
+    private Integer todoId;
+
+    @Schema(description = "Description of the assigned todo", example = "Get AWS Certified")
+    private String description;
+
+    @Schema(description = "Target date of the assigned todo", example = "2024-12-31")
+    private LocalDate targetDate;
+
+    @Schema(description = "Username of the user who made the assignment", example = "john_doe")
+    private String assignerUsername;
+
+    @Schema(description = "Current status of the assignment", example = "PENDING")
+    private AssignmentStatus status;
+
+    @Schema(description = "Completion date proposed by the assignee when accepting", example = "2024-12-20")
+    private LocalDate tentativeCompletionDate;
+}
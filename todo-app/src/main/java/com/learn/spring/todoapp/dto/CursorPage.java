@@ -0,0 +1,29 @@
+package com.learn.spring.todoapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A single page of results from a cursor (keyset) paginated listing")
+public class CursorPage<T> {
+    @Schema(description = "The items on this page, in listing order")
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor to pass back to fetch the next page; null when this is the last page",
+            example = "MjAyNC0xMi0zMToxMDAwNA")
+    private String nextCursor;
+
+    @Schema(description = "Whether more items exist after this page", example = "true")
+    private boolean hasMore;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,39 @@
+package com.learn.spring.todoapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Outcome of a bulk todo import")
+public class ImportResult {
+    @Schema(description = "Whether the whole input was processed", example = "true")
+    private boolean completed;
+
+    @Schema(description = "Number of todos stored by this request", example = "250000")
+    private long imported;
+
+    @Schema(description = "Number of rows skipped because they failed validation", example = "3")
+    private long rejected;
+
+    @Schema(description = "Number of input lines read, including a CSV header and skipped lines", example = "250004")
+    private long linesRead;
+
+    @Schema(description = "Every line up to this one is committed; pass it as resumeFromLine to continue after a failure",
+            example = "250004")
+    private long resumeFromLine;
+
+    @Schema(description = "Time spent on the import in milliseconds", example = "4210")
+    private long elapsedMillis;
+
+    @Schema(description = "Imported todos per second", example = "59382.4")
+    private double rowsPerSecond;
+
+    @Schema(description = "Validation errors of the first rejected rows", example = "[\"line 7: targetDate is required\"]")
+    private List<String> errors = new ArrayList<>();
+
+    @Schema(description = "Why the import stopped early, if it did", example = "Failed to store todos: database is locked")
+    private String failure;
+}
@@ -0,0 +1,23 @@
+package com.learn.spring.todoapp.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Schema(description = "Request payload for marking several notifications as read at once. Provide either ids or before.")
+public class MarkNotificationsReadRequest {
+    @Schema(
+        description = "The IDs of the notifications to mark as read",
+        example = "[12, 15, 16]"
+    )
+    private List<Long> ids;
+
+    @Schema(
+        description = "Mark every notification created at or before this timestamp as read",
+        example = "2024-12-29T10:30:00"
+    )
+    private LocalDateTime before;
+}
@@ -1,5 +1,6 @@
 package com.learn.spring.todoapp.dto;
 
+import com.learn.spring.todoapp.entity.Notification;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -21,4 +22,14 @@ public class NotificationDTO {
 
     @Schema(description = "Timestamp when the notification was created", example = "2024-12-29T10:30:00")
     private LocalDateTime createdAt;
+
+    public static NotificationDTO from(Notification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getId());
+        dto.setMessage(notification.getMessage());
+        dto.setRead(notification.isRead());
+        dto.setRelatedTodoId(notification.getRelatedTodoId());
+        dto.setCreatedAt(notification.getCreatedAt());
+        return dto;
+    }
 }
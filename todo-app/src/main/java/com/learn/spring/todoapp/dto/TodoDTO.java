@@ -0,0 +1,34 @@
+package com.learn.spring.todoapp.dto;
+
+import com.learn.spring.todoapp.entity.Todo;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A todo task owned by the current user")
+public class TodoDTO {
+    @Schema(description = "Unique identifier of the todo", example = "10001")
+    private Integer id;
+
+    @Schema(description = "Username of the todo owner", example = "john_doe")
+    private String username;
+
+    @Schema(description = "Description of the task", example = "Get AWS Certified")
+    private String description;
+
+    @Schema(description = "Target completion date", example = "2024-12-31")
+    private LocalDate targetDate;
+
+    @Schema(description = "Whether the todo has been completed", example = "false")
+    private boolean done;
+
+    public static TodoDTO from(Todo todo) {
+        return new TodoDTO(todo.getId(), todo.getUsername(), todo.getDescription(), todo.getTargetDate(), todo.isDone());
+    }
+}
@@ -52,21 +52,13 @@ public class Todo {
         this.done = done;
     }
 
-    // Helper method to set both user and username and maintain bidirectional relationship
+    /**
+     * Sets the owner and the username column it maps to. The inverse {@link User#getTodos()} collection is left
+     * alone: adding to it would load every todo the owner has just to link one more.
+     */
     public void setUser(User user) {
-        // Remove from old user's todos list if exists
-        if (this.user != null && this.user.getTodos() != null) {
-            this.user.getTodos().remove(this);
-        }
-
-        // Set new user
         this.user = user;
         this.username = user != null ? user.getUsername() : null;
-
-        // Add to new user's todos list if exists
-        if (user != null && user.getTodos() != null) {
-            user.getTodos().add(this);
-        }
     }
 
     public TodoAssignment getActiveAssignment() {
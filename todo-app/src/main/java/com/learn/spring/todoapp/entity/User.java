@@ -31,6 +31,7 @@ public class User {
     @Column(name = "enabled", nullable = false)
     private boolean enabled = true;
 
+    // Read-only inverse side: Todo.setUser does not add to it, so it only reflects todos once loaded from the database
     @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private List<Todo> todos = new ArrayList<>();
 
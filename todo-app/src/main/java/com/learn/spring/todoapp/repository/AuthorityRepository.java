@@ -1,50 +1,37 @@
 package com.learn.spring.todoapp.repository;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Logger;
 
 @Repository
 public class AuthorityRepository {
 
-    private static final Logger logger = Logger.getLogger(AuthorityRepository.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(AuthorityRepository.class);
     private final JdbcTemplate jdbcTemplate;
+    private final UserCache userCache;
 
-    public AuthorityRepository(JdbcTemplate jdbcTemplate) {
+    // The authorities table is created by the schema migrations
+    public AuthorityRepository(JdbcTemplate jdbcTemplate, UserCache userCache) {
         this.jdbcTemplate = jdbcTemplate;
-        // Ensure the authorities table exists
-        try {
-            createAuthoritiesTableIfNotExists();
-        } catch (Exception e) {
-            logger.warning("Failed to create authorities table: " + e.getMessage());
-        }
-    }
-
-    private void createAuthoritiesTableIfNotExists() {
-        try {
-            jdbcTemplate.execute(
-                "CREATE TABLE IF NOT EXISTS authorities (" +
-                "username VARCHAR(255) NOT NULL, " +
-                "authority VARCHAR(255) NOT NULL, " +
-                "CONSTRAINT pk_authorities PRIMARY KEY (username, authority))");
-        } catch (DataAccessException e) {
-            logger.warning("Could not create authorities table: " + e.getMessage());
-        }
+        this.userCache = userCache;
     }
 
     public void addAuthority(String username, String authority) {
         try {
             String sql = "INSERT INTO authorities (username, authority) VALUES (?, ?)";
             int rowsAffected = jdbcTemplate.update(sql, username, authority);
-            System.out.println("[DEBUG_LOG] Added authority: " + authority + " for user: " + username + ", rows affected: " + rowsAffected);
+            logger.debug("Added authority {} for user {}, rows affected: {}", authority, username, rowsAffected);
         } catch (DataAccessException e) {
-            System.out.println("[DEBUG_LOG] Failed to add authority: " + e.getMessage());
-            logger.warning("Failed to add authority: " + e.getMessage());
+            logger.warn("Failed to add authority {} for user {}: {}", authority, username, e.getMessage());
         }
+        userCache.removeUserFromCache(username);
     }
 
     public void removeAuthority(String username, String authority) {
@@ -52,8 +39,9 @@ public class AuthorityRepository {
             String sql = "DELETE FROM authorities WHERE username = ? AND authority = ?";
             jdbcTemplate.update(sql, username, authority);
         } catch (DataAccessException e) {
-            logger.warning("Failed to remove authority: " + e.getMessage());
+            logger.warn("Failed to remove authority {} for user {}: {}", authority, username, e.getMessage());
         }
+        userCache.removeUserFromCache(username);
     }
 
     public void removeAllAuthorities(String username) {
@@ -61,19 +49,19 @@ public class AuthorityRepository {
             String sql = "DELETE FROM authorities WHERE username = ?";
             jdbcTemplate.update(sql, username);
         } catch (DataAccessException e) {
-            logger.warning("Failed to remove all authorities: " + e.getMessage());
+            logger.warn("Failed to remove all authorities for user {}: {}", username, e.getMessage());
         }
+        userCache.removeUserFromCache(username);
     }
 
     public List<String> findAuthoritiesByUsername(String username) {
         try {
             String sql = "SELECT authority FROM authorities WHERE username = ?";
             List<String> authorities = jdbcTemplate.queryForList(sql, String.class, username);
-            System.out.println("[DEBUG_LOG] Found authorities for user: " + username + ", count: " + authorities.size() + ", authorities: " + authorities);
+            logger.debug("Found {} authorities for user {}: {}", authorities.size(), username, authorities);
             return authorities;
         } catch (DataAccessException e) {
-            System.out.println("[DEBUG_LOG] Failed to find authorities: " + e.getMessage());
-            logger.warning("Failed to find authorities: " + e.getMessage());
+            logger.warn("Failed to find authorities for user {}: {}", username, e.getMessage());
             return new ArrayList<>();
         }
     }
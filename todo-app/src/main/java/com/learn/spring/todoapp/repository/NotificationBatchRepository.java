@@ -0,0 +1,73 @@
+package com.learn.spring.todoapp.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes new notifications with one multi-row INSERT per batch, bypassing the persistence context.
+ */
+@Repository
+public class NotificationBatchRepository {
+
+    private static final String INSERT = "INSERT INTO notification (recipient_username, message, is_read, related_todo_id, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean sqlite;
+
+    public NotificationBatchRepository(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlite = datasourceUrl.startsWith("jdbc:sqlite:");
+    }
+
+    /**
+     * Inserts the given notifications as unread.
+     *
+     * @return the generated ids, in the order of {@code notifications}
+     */
+    public List<Long> insertAll(List<NewNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        String sql = INSERT + String.join(", ", Collections.nCopies(notifications.size(), ROW));
+        // The SQLite driver does not implement getGeneratedKeys, but SQLite supports RETURNING. Its row order is
+        // unspecified; ids are assigned in VALUES order, so sorting restores it.
+        if (sqlite) {
+            return jdbcTemplate.query(sql + " RETURNING id", statement -> bind(statement, notifications),
+                    (resultSet, rowNum) -> resultSet.getLong(1)).stream().sorted().toList();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+            bind(statement, notifications);
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private static void bind(PreparedStatement statement, List<NewNotification> notifications) throws SQLException {
+        int index = 1;
+        for (NewNotification notification : notifications) {
+            statement.setString(index++, notification.recipientUsername());
+            statement.setString(index++, notification.message());
+            statement.setBoolean(index++, false);
+            statement.setObject(index++, notification.relatedTodoId());
+            // Same text format as LocalDateTimeConverter
+            statement.setString(index++, notification.createdAt().toString());
+        }
+    }
+
+    public record NewNotification(String recipientUsername, String message, Long relatedTodoId, LocalDateTime createdAt) {
+    }
+}
@@ -1,11 +1,29 @@
 package com.learn.spring.todoapp.repository;
 
 import com.learn.spring.todoapp.entity.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipientUsernameOrderByCreatedAtDesc(String recipientUsername);
     List<Notification> findByRecipientUsernameAndIsReadFalseOrderByCreatedAtDesc(String recipientUsername);
     long countByRecipientUsernameAndIsReadFalse(String recipientUsername);
+    List<Notification> findByRecipientUsernameAndIdGreaterThanOrderByIdAsc(String recipientUsername, Long id, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.recipient.username = :username AND n.isRead = false AND n.id IN :ids")
+    int markReadByIds(@Param("username") String recipientUsername, @Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.recipient.username = :username AND n.isRead = false AND n.createdAt <= :before")
+    int markReadCreatedAtOrBefore(@Param("username") String recipientUsername, @Param("before") LocalDateTime before);
 }
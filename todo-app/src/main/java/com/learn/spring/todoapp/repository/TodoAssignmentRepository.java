@@ -1,11 +1,85 @@
 package com.learn.spring.todoapp.repository;
 
+import com.learn.spring.todoapp.dto.AssignedTodoDTO;
+import com.learn.spring.todoapp.entity.AssignmentStatus;
 import com.learn.spring.todoapp.entity.TodoAssignment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TodoAssignmentRepository extends JpaRepository<TodoAssignment, Long> {
     List<TodoAssignment> findByAssigneeUsername(String assigneeUsername);
     List<TodoAssignment> findByAssignerUsername(String assignerUsername);
     List<TodoAssignment> findByTodoId(Integer todoId);
+
+    @EntityGraph(attributePaths = {"todo", "assigner", "assignee"})
+    Optional<TodoAssignment> findWithDetailsById(Long id);
+
+    /**
+     * Everything the "Assigned to You" panel renders, read in a single statement.
+     */
+    @Query("SELECT new com.learn.spring.todoapp.dto.AssignedTodoDTO(" +
+           "a.id, t.id, t.description, t.targetDate, a.assigner.username, a.status, a.tentativeCompletionDate) " +
+           "FROM TodoAssignment a JOIN a.todo t " +
+           "WHERE a.assignee.username = :username " +
+           "ORDER BY a.id")
+    List<AssignedTodoDTO> findAssignedTodosByAssigneeUsername(@Param("username") String username);
+
+    @Query("SELECT a.todo.id AS todoId, a.assignee.username AS assigneeUsername " +
+           "FROM TodoAssignment a " +
+           "WHERE a.todo.id IN :todoIds AND a.status IN :statuses")
+    List<TodoAssignee> findAssigneesByTodoIdInAndStatusIn(@Param("todoIds") Collection<Integer> todoIds,
+                                                         @Param("statuses") Collection<AssignmentStatus> statuses);
+
+    /**
+     * The assignment of a todo in {@code status}, with what a notification about it needs. The partial unique index
+     * on todo_id allows at most one PENDING or ACCEPTED assignment per todo.
+     */
+    @Query("SELECT a.id AS id, a.assigner.username AS assignerUsername, a.assignee.username AS assigneeUsername, " +
+           "t.description AS todoDescription " +
+           "FROM TodoAssignment a JOIN a.todo t " +
+           "WHERE t.id = :todoId AND a.status = :status")
+    Optional<AssignmentSummary> findSummaryByTodoIdAndStatus(@Param("todoId") Integer todoId,
+                                                             @Param("status") AssignmentStatus status);
+
+    /**
+     * Moves an assignment from {@code from} to {@code to} only if it is still in {@code from}, so of several
+     * concurrent transitions exactly one takes effect. Returns the number of rows changed, 0 or 1.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TodoAssignment a SET a.status = :to WHERE a.id = :id AND a.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") AssignmentStatus from, @Param("to") AssignmentStatus to);
+
+    /**
+     * Records the assignee's answer to a PENDING assignment, moving it to {@code to} only if it is still PENDING
+     * and assigned to {@code assigneeUsername}. Returns the number of rows changed, 0 or 1.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TodoAssignment a SET a.status = :to, a.respondedAt = :respondedAt, " +
+           "a.tentativeCompletionDate = :tentativeDate, a.declineReason = :declineReason " +
+           "WHERE a.id = :id AND a.assignee.username = :assigneeUsername " +
+           "AND a.status = com.learn.spring.todoapp.entity.AssignmentStatus.PENDING")
+    int respond(@Param("id") Long id, @Param("assigneeUsername") String assigneeUsername,
+                @Param("to") AssignmentStatus to, @Param("respondedAt") LocalDateTime respondedAt,
+                @Param("tentativeDate") LocalDate tentativeDate, @Param("declineReason") String declineReason);
+
+    interface AssignmentSummary {
+        Long getId();
+        String getAssignerUsername();
+        String getAssigneeUsername();
+        String getTodoDescription();
+    }
+
+    interface TodoAssignee {
+        Integer getTodoId();
+        String getAssigneeUsername();
+    }
 }
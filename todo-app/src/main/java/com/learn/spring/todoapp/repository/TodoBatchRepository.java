@@ -0,0 +1,42 @@
+package com.learn.spring.todoapp.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Inserts todos with JDBC batches, bypassing the persistence context. The ids are left to the database and never
+ * read back, so unlike {@code GenerationType.IDENTITY} inserts through Hibernate the rows can be batched.
+ */
+@Repository
+public class TodoBatchRepository {
+
+    private static final String INSERT = "INSERT INTO todo (username, description, target_date, done) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the given todos as one JDBC batch. Call inside a write transaction so the batch commits at once.
+     */
+    public void insertAll(List<NewTodo> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, todos, todos.size(), (statement, todo) -> {
+            statement.setString(1, todo.username());
+            statement.setString(2, todo.description());
+            // Same text format as LocalDateConverter
+            statement.setString(3, todo.targetDate().toString());
+            statement.setBoolean(4, todo.done());
+        });
+    }
+
+    public record NewTodo(String username, String description, LocalDate targetDate, boolean done) {
+    }
+}
@@ -1,19 +1,43 @@
 package com.learn.spring.todoapp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.learn.spring.todoapp.dto.TodoDTO;
 import com.learn.spring.todoapp.entity.Todo;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Integer> {
+public interface TodoRepository extends JpaRepository<Todo, Integer>, JpaSpecificationExecutor<Todo>, TodoViewRepository {
 
     List<Todo> findByUsername(String username);
 
     void deleteById(Integer id);
 
     Optional<Todo> findById(Integer id);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.learn.spring.todoapp.dto.TodoDTO(t.id, t.username, t.description, t.targetDate, t.done) " +
+           "FROM Todo t WHERE t.id = :id")
+    Optional<TodoDTO> findViewById(@Param("id") Integer id);
+
+    /**
+     * The owner of a todo paired with each user holding an ACCEPTED assignment for it, or with {@code null} when
+     * there is none: a primary key lookup plus a probe of the (todo_id, status, assignee_username) index. Empty
+     * when the todo does not exist.
+     */
+    @Query("SELECT t.username AS ownerUsername, a.assignee.username AS acceptedAssigneeUsername " +
+           "FROM Todo t LEFT JOIN TodoAssignment a ON a.todo.id = t.id " +
+           "AND a.status = com.learn.spring.todoapp.entity.AssignmentStatus.ACCEPTED " +
+           "WHERE t.id = :id")
+    List<TodoAccess> findAccessById(@Param("id") Integer id);
+
+    interface TodoAccess {
+        String getOwnerUsername();
+        String getAcceptedAssigneeUsername();
+    }
+}
@@ -0,0 +1,46 @@
+package com.learn.spring.todoapp.repository;
+
+import com.learn.spring.todoapp.entity.Todo;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Reusable predicates for todo list queries. Every filter is translated into the SQL WHERE clause,
+ * so nothing is filtered in memory after the rows are loaded.
+ */
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    public static Specification<Todo> ownedBy(String username) {
+        return (root, query, cb) -> cb.equal(root.get("username"), username);
+    }
+
+    public static Specification<Todo> hasDone(Boolean done) {
+        return done == null ? null : (root, query, cb) -> cb.equal(root.get("done"), done);
+    }
+
+    public static Specification<Todo> targetDateFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("targetDate"), from);
+    }
+
+    public static Specification<Todo> targetDateTo(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("targetDate"), to);
+    }
+
+    /**
+     * Keyset predicate on (target_date, id): matches rows that sort strictly after the given position.
+     */
+    public static Specification<Todo> after(LocalDate targetDate, Integer id) {
+        if (targetDate == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("targetDate"), targetDate),
+                cb.and(
+                        cb.equal(root.get("targetDate"), targetDate),
+                        cb.greaterThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.learn.spring.todoapp.repository;
+
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.entity.Todo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Todo reads that select only the columns of {@link TodoDTO}, so no entities are hydrated or left in the
+ * persistence context.
+ */
+public interface TodoViewRepository {
+
+    List<TodoDTO> findViews(Specification<Todo> spec, Sort sort, int limit);
+}
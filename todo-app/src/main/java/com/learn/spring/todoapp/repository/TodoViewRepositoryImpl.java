@@ -0,0 +1,36 @@
+package com.learn.spring.todoapp.repository;
+
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.entity.Todo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class TodoViewRepositoryImpl implements TodoViewRepository {
+
+    private final EntityManager entityManager;
+
+    TodoViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TodoDTO> findViews(Specification<Todo> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoDTO> query = cb.createQuery(TodoDTO.class);
+        Root<Todo> root = query.from(Todo.class);
+        query.select(cb.construct(TodoDTO.class, root.get("id"), root.get("username"), root.get("description"),
+                root.get("targetDate"), root.get("done")));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
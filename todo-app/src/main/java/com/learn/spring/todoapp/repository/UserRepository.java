@@ -2,6 +2,8 @@ package com.learn.spring.todoapp.repository;
 
 import com.learn.spring.todoapp.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +12,16 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByUsername(String username);
-    List<User> findByUsernameContainingIgnoreCase(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    /**
+     * Loads the login columns and authorities of a user in one statement: one row per authority
+     * as {@code [username, password, enabled, authority]}, with a null authority when the user has none.
+     */
+    @Query(value = "SELECT u.username, u.password, u.enabled, a.authority " +
+                   "FROM users u LEFT JOIN authorities a ON a.username = u.username " +
+                   "WHERE u.username = :username", nativeQuery = true)
+    List<Object[]> findWithAuthoritiesByUsername(@Param("username") String username);
 }
@@ -0,0 +1,91 @@
+package com.learn.spring.todoapp.security;
+
+import com.learn.spring.todoapp.cache.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory {@link UserCache} used by {@link DatabaseUserDetailsService}.
+ * <p>
+ * Entries expire after the configured TTL so changes made outside the application are picked up eventually,
+ * and the least recently used entries are evicted when the cache grows past its maximum size. Code that changes
+ * a user's account or authorities evicts the user explicitly so the change applies on the next request.
+ */
+@Component
+public class BoundedUserCache implements UserCache {
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LruCache<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public BoundedUserCache(@Value("${todo.security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${todo.security.user-cache.ttl:300000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    BoundedUserCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LruCache<>(maxSize);
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        long now = clock.getAsLong();
+        Entry entry = entries.get(username);
+        if (entry == null || now - entry.cachedAt >= ttlMillis) {
+            if (entry != null) {
+                entries.remove(username, entry);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.user;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        entries.put(user.getUsername(), new Entry(user, clock.getAsLong()));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        entries.remove(username);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return entries.getEvictionCount();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final UserDetails user;
+        private final long cachedAt;
+
+        private Entry(UserDetails user, long now) {
+            this.user = user;
+            this.cachedAt = now;
+        }
+    }
+}
@@ -1,38 +1,62 @@
 package com.learn.spring.todoapp.security;
 
-import com.learn.spring.todoapp.entity.User;
-import com.learn.spring.todoapp.repository.AuthorityRepository;
 import com.learn.spring.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class DatabaseUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final AuthorityRepository authorityRepository;
+    private final UserCache userCache;
+    private final Counter loginSuccesses;
+    private final Counter loginFailures;
 
-    public DatabaseUserDetailsService(UserRepository userRepository, AuthorityRepository authorityRepository) {
+    public DatabaseUserDetailsService(UserRepository userRepository, UserCache userCache, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.authorityRepository = authorityRepository;
+        this.userCache = userCache;
+        this.loginSuccesses = loginCounter(meterRegistry, "success");
+        this.loginFailures = loginCounter(meterRegistry, "failure");
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        UserDetails user = userCache.getUserFromCache(username);
+        if (user == null) {
+            user = loadFromDatabase(username);
+            userCache.putUserInCache(user);
+        }
+        // Spring Security erases the password of the returned instance after authentication,
+        // so callers get a copy and the cached entry stays usable
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).build();
+    }
 
-        // Load authorities from the database
-        List<SimpleGrantedAuthority> authorities = authorityRepository.findAuthoritiesByUsername(username)
-                .stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+    private UserDetails loadFromDatabase(String username) {
+        // One row per authority, or a single row with a null authority
+        List<Object[]> rows = userRepository.findWithAuthoritiesByUsername(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+
+        Object[] first = rows.get(0);
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (row[3] != null) {
+                authorities.add(new SimpleGrantedAuthority((String) row[3]));
+            }
+        }
 
         // If no authorities found, add default ROLE_USER
         if (authorities.isEmpty()) {
@@ -40,13 +64,39 @@ public class DatabaseUserDetailsService implements UserDetailsService {
         }
 
         return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.isEnabled(),
+                (String) first[0],
+                (String) first[1],
+                isTrue(first[2]),
                 true, // accountNonExpired
                 true, // credentialsNonExpired
                 true, // accountNonLocked
                 authorities
         );
     }
+
+    /**
+     * Counts password logins. The authentication manager publishes these events after checking the credentials
+     * of the user loaded here; remember-me and session authentication do not go through it.
+     */
+    @EventListener
+    public void onLoginSuccess(AuthenticationSuccessEvent event) {
+        loginSuccesses.increment();
+    }
+
+    @EventListener
+    public void onLoginFailure(AbstractAuthenticationFailureEvent event) {
+        loginFailures.increment();
+    }
+
+    private static Counter loginCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("todo.logins")
+                .description("Login attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // SQLite stores the enabled flag as an INTEGER, H2 as a BOOLEAN
+    private static boolean isTrue(Object value) {
+        return value instanceof Boolean flag ? flag : ((Number) value).intValue() != 0;
+    }
 }
@@ -1,9 +1,15 @@
 package com.learn.spring.todoapp.security;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,6 +30,33 @@ public class SpringSecurityConfiguration {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Actuator endpoints: health is public, metrics and the Prometheus scrape need an admin. They use HTTP Basic
+     * without a session so a scraper can authenticate on every request.
+     */
+    @Bean
+    @Order(1)
+    SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .userDetailsService(userDetailsService)
+                .authorizeHttpRequests((requests) -> requests
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("ADMIN"))
+                // Status codes are set directly: sendError would forward to /error, which the page chain below
+                // answers with a redirect to the login form
+                .httpBasic((basic) -> basic.authenticationEntryPoint((request, response, exception) -> {
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"todo-app\"");
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                }))
+                .exceptionHandling((exceptions) -> exceptions.accessDeniedHandler((request, response, exception) ->
+                        response.setStatus(HttpServletResponse.SC_FORBIDDEN)))
+                .sessionManagement((session) -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf((csrf) -> csrf.disable());
+
+        return http.build();
+    }
+
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -0,0 +1,9 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.NotificationDTO;
+
+/**
+ * Published by {@link NotificationWriter} whenever a notification is stored for a user.
+ */
+public record NotificationCreatedEvent(String recipientUsername, NotificationDTO notification) {
+}
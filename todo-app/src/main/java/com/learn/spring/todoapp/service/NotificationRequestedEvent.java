@@ -0,0 +1,10 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.repository.NotificationBatchRepository.NewNotification;
+
+/**
+ * Published by {@link NotificationService} for a notification that {@link NotificationWriter} should store once the
+ * surrounding transaction commits.
+ */
+public record NotificationRequestedEvent(NewNotification notification) {
+}
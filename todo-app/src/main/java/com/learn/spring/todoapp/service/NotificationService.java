@@ -2,46 +2,105 @@ package com.learn.spring.todoapp.service;
 
 import com.learn.spring.todoapp.entity.Notification;
 import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.NotificationBatchRepository.NewNotification;
 import com.learn.spring.todoapp.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 @Transactional
 public class NotificationService {
 
+    static final int MAX_IDS_PER_REQUEST = 500;
+
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final Counter created;
+    private final Counter read;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository, ApplicationEventPublisher eventPublisher,
+                               UnreadNotificationCounter unreadNotificationCounter, MeterRegistry meterRegistry) {
         this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.created = Counter.builder("todo.notifications.created")
+                .description("Notifications requested, before they are written in the background")
+                .register(meterRegistry);
+        this.read = Counter.builder("todo.notifications.read")
+                .description("Notifications changed from unread to read")
+                .register(meterRegistry);
     }
 
+    /**
+     * Requests a notification for the recipient. It is stored by {@link NotificationWriter} after the surrounding
+     * transaction commits, and not at all when it rolls back.
+     */
     public void createNotification(User recipient, String message, Long relatedTodoId) {
-        Notification notification = new Notification();
-        notification.setRecipient(recipient);
-        notification.setMessage(message);
-        notification.setRelatedTodoId(relatedTodoId);
-        notificationRepository.save(notification);
+        createNotification(recipient.getUsername(), message, relatedTodoId);
+    }
+
+    /**
+     * As {@link #createNotification(User, String, Long)}, for callers that only have the recipient's username.
+     */
+    public void createNotification(String recipientUsername, String message, Long relatedTodoId) {
+        eventPublisher.publishEvent(new NotificationRequestedEvent(
+                new NewNotification(recipientUsername, message, relatedTodoId, LocalDateTime.now())));
+        created.increment();
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getUserNotifications(String username) {
         return notificationRepository.findByRecipientUsernameOrderByCreatedAtDesc(username);
     }
 
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadUserNotifications(String username) {
         return notificationRepository.findByRecipientUsernameAndIsReadFalseOrderByCreatedAtDesc(username);
     }
     
+    @Transactional(readOnly = true)
     public long getUnreadCount(String username) {
-        return notificationRepository.countByRecipientUsernameAndIsReadFalse(username);
+        return unreadNotificationCounter.get(username);
+    }
+
+    /**
+     * Marks the given notifications of a user as read with a single UPDATE. Notifications that belong to
+     * another user or are already read are left untouched.
+     *
+     * @return the number of notifications that changed from unread to read
+     */
+    public int markAsRead(String username, Collection<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        if (notificationIds.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " notifications can be marked at once");
+        }
+        return publishRead(username, notificationRepository.markReadByIds(username, notificationIds));
+    }
+
+    /**
+     * Marks every notification of a user created at or before the given watermark as read with a single UPDATE.
+     *
+     * @return the number of notifications that changed from unread to read
+     */
+    public int markAllAsRead(String username, LocalDateTime before) {
+        return publishRead(username, notificationRepository.markReadCreatedAtOrBefore(username, before));
     }
 
-    public void markAsRead(Long notificationId) {
-        notificationRepository.findById(notificationId).ifPresent(notification -> {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        });
+    private int publishRead(String username, int updated) {
+        if (updated > 0) {
+            read.increment(updated);
+            eventPublisher.publishEvent(new NotificationsReadEvent(username, updated));
+        }
+        return updated;
     }
 }
@@ -0,0 +1,299 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.NotificationDTO;
+import com.learn.spring.todoapp.entity.Notification;
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes notifications to connected browsers over Server-Sent Events.
+ * <p>
+ * Each connection owns a bounded buffer that is drained on a dispatcher thread, so a slow client never
+ * blocks the code that created the notification. A client whose buffer overflows, or that cannot get a
+ * dispatcher thread, is disconnected; the browser then reconnects with {@code Last-Event-ID} and the missed
+ * notifications are replayed from the database. A replay is limited to what fits in the buffer; when more
+ * notifications were missed a {@code resync} event tells the client to reload them from the REST API.
+ */
+@Service
+public class NotificationStreamService {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+
+    public NotificationStreamService(NotificationRepository notificationRepository,
+                                     UnreadNotificationCounter unreadNotificationCounter,
+                                     @Value("${todo.notifications.stream.timeout:1800000}") long timeoutMillis,
+                                     @Value("${todo.notifications.stream.buffer-size:64}") int bufferSize,
+                                     @Value("${todo.notifications.stream.dispatcher-threads:32}") int dispatcherThreads,
+                                     @Value("${todo.notifications.stream.dispatcher-queue-capacity:10000}") int dispatcherQueueCapacity,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.notificationRepository = notificationRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        if (virtualThreads) {
+            // Writers spend their time blocked on slow clients, which is cheap on virtual threads
+            this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-stream-", 1).factory());
+        } else {
+            // Each slow client holds a platform thread while it is written to, so threads and queued drains are
+            // capped; a connection whose drain is rejected is closed and catches up on reconnect
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads,
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(dispatcherQueueCapacity), runnable -> {
+                        Thread thread = new Thread(runnable, "notification-stream-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            this.dispatcher = executor;
+        }
+    }
+
+    /**
+     * Opens a stream for the given user. When {@code lastEventId} is present, notifications created after it
+     * are replayed first. The current unread count is always sent so the client can reset its badge.
+     * <p>
+     * The subscription is registered before the replay is read, so that nothing created in between is lost.
+     * Notifications pushed meanwhile are held back until the replay is queued and are skipped when the replay
+     * already contained them.
+     */
+    public SseEmitter subscribe(String username, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(username, emitter);
+        subscriptions.computeIfAbsent(username, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(error -> unregister(subscription));
+
+        List<Event> replay = new ArrayList<>();
+        long replayedUpTo = lastEventId == null ? 0 : lastEventId;
+        if (lastEventId != null) {
+            // Leave room in the buffer for the resync and unread count events
+            int limit = Math.max(1, bufferSize - 2);
+            List<Notification> missed = notificationRepository.findByRecipientUsernameAndIdGreaterThanOrderByIdAsc(
+                    username, lastEventId, Limit.of(limit + 1));
+            for (Notification notification : missed.subList(0, Math.min(limit, missed.size()))) {
+                replay.add(notificationEvent(NotificationDTO.from(notification), true));
+                replayedUpTo = notification.getId();
+            }
+            if (missed.size() > limit) {
+                replay.add(Event.of(SseEmitter.event().name(RESYNC_EVENT).data("")));
+            }
+        }
+        subscription.start(replay, replayedUpTo, () -> Event.of(SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .data(unreadNotificationCounter.get(username))));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Set<Subscription> userSubscriptions = subscriptions.get(event.recipientUsername());
+        if (userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            subscription.enqueue(notificationEvent(event.notification(), false));
+        }
+    }
+
+    /**
+     * Keeps idle connections alive through proxies and detects clients that went away without closing.
+     */
+    @Scheduled(fixedDelayString = "${todo.notifications.stream.heartbeat-interval:15000}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(userSubscriptions ->
+                userSubscriptions.forEach(subscription -> subscription.enqueue(
+                        Event.of(SseEmitter.event().comment("heartbeat")))));
+    }
+
+    public int getConnectionCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userSubscriptions ->
+                userSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+        subscriptions.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private static Event notificationEvent(NotificationDTO notification, boolean replayed) {
+        return new Event(SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name(NOTIFICATION_EVENT)
+                .data(notification), notification.getId(), replayed);
+    }
+
+    private void unregister(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.username, (username, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    /**
+     * An event to send, with the id of the notification it carries or 0, and whether it comes from a replay.
+     */
+    private record Event(SseEventBuilder builder, long notificationId, boolean replayed) {
+
+        static Event of(SseEventBuilder builder) {
+            return new Event(builder, 0, false);
+        }
+    }
+
+    private final class Subscription {
+
+        private final String username;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Guarded by this; events are only drained once the replay is queued
+        private boolean started;
+        // Pushed notifications up to this id were already sent by the replay, or seen by the client before it
+        private volatile long replayedUpTo;
+
+        private Subscription(String username, SseEmitter emitter) {
+            this.username = username;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues the replay ahead of the notifications pushed since the subscription was registered, followed
+         * by the unread count, and starts sending.
+         */
+        synchronized void start(List<Event> replay, long replayedUpTo, Supplier<Event> unreadCount) {
+            this.replayedUpTo = replayedUpTo;
+            List<Event> pushed = new ArrayList<>();
+            buffer.drainTo(pushed);
+            for (Event event : replay) {
+                if (!offer(event)) {
+                    return;
+                }
+            }
+            for (Event event : pushed) {
+                if (!offer(event)) {
+                    return;
+                }
+            }
+            if (offer(unreadCount.get())) {
+                started = true;
+                scheduleDrain();
+            }
+        }
+
+        void enqueue(Event event) {
+            if (closed) {
+                return;
+            }
+            boolean drain;
+            synchronized (this) {
+                if (!offer(event)) {
+                    return;
+                }
+                drain = started;
+            }
+            if (drain) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean offer(Event event) {
+            if (buffer.offer(event)) {
+                return true;
+            }
+            logger.debug("Notification stream buffer full for user {}, closing connection", username);
+            close(null);
+            return false;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    logger.debug("Notification stream dispatcher saturated, closing connection of user {}", username);
+                    close(null);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Event event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    if (isDuplicate(event)) {
+                        continue;
+                    }
+                    emitter.send(event.builder());
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been enqueued after the last poll but before the flag was cleared
+            if (!closed && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * A pushed notification the client already has, from the replay or from before it reconnected.
+         */
+        private boolean isDuplicate(Event event) {
+            return !event.replayed() && event.notificationId() != 0 && event.notificationId() <= replayedUpTo;
+        }
+
+        private void close(Throwable error) {
+            closed = true;
+            buffer.clear();
+            unregister(this);
+            if (error == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(error);
+            }
+        }
+    }
+}
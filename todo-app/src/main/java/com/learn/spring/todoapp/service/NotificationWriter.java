@@ -0,0 +1,177 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.NotificationDTO;
+import com.learn.spring.todoapp.repository.NotificationBatchRepository;
+import com.learn.spring.todoapp.repository.NotificationBatchRepository.NewNotification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores requested notifications on a background thread, so assignment transactions do not pay for the INSERT
+ * while holding the database write lock.
+ * <p>
+ * Notifications are queued once the requesting transaction commits and written in batches of up to
+ * {@code batch-size} rows, each batch as one multi-row INSERT in its own transaction. When the bounded queue is
+ * full the committing thread waits up to {@code offer-timeout} for space and then writes its notification itself,
+ * so producers slow down instead of losing notifications. On shutdown the queue is drained before the data source
+ * closes. {@link NotificationCreatedEvent} is published for every stored notification, inside the transaction that
+ * stores it.
+ */
+@Service
+public class NotificationWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationWriter.class);
+    private static final long POLL_MILLIS = 100;
+
+    private final NotificationBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<NewNotification> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread writerThread;
+    private volatile boolean running;
+
+    public NotificationWriter(NotificationBatchRepository batchRepository,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${todo.notifications.writer.queue-capacity:10000}") int queueCapacity,
+                              @Value("${todo.notifications.writer.batch-size:100}") int batchSize,
+                              @Value("${todo.notifications.writer.offer-timeout:1000}") long offerTimeoutMillis,
+                              @Value("${todo.notifications.writer.shutdown-timeout:30000}") long shutdownTimeoutMillis) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Notification writer queue capacity and batch size must be positive");
+        }
+        this.batchRepository = batchRepository;
+        // The listener runs after the requesting transaction committed, so always start a new one
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.writerThread = new Thread(this::run, "notification-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationRequested(NotificationRequestedEvent event) {
+        NewNotification notification = event.notification();
+        if (!running) {
+            write(List.of(notification));
+            return;
+        }
+        try {
+            if (queue.offer(notification) || queue.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            logger.warn("Notification queue full for {} ms, writing notification for {} on the calling thread",
+                    offerTimeoutMillis, notification.recipientUsername());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write(List.of(notification));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting work, waits for the writer thread to store everything queued so far and writes any
+     * leftovers on the calling thread. Notifications requested afterwards are written directly.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.join(shutdownTimeoutMillis);
+        if (writerThread.isAlive()) {
+            logger.warn("Notification writer did not finish within {} ms, {} notifications still queued",
+                    shutdownTimeoutMillis, queue.size());
+            return;
+        }
+        List<NewNotification> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            write(leftovers);
+        }
+    }
+
+    private void run() {
+        List<NewNotification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NewNotification first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Notification writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<NewNotification> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = batchRepository.insertAll(batch);
+                // Published inside the transaction, so listeners can tell the write is in flight until it commits
+                for (int i = 0; i < batch.size(); i++) {
+                    eventPublisher.publishEvent(new NotificationCreatedEvent(batch.get(i).recipientUsername(),
+                            toDTO(ids.get(i), batch.get(i))));
+                }
+            });
+        } catch (DataAccessException e) {
+            if (batch.size() == 1) {
+                logger.error("Failed to store notification for {}", batch.get(0).recipientUsername(), e);
+                return;
+            }
+            // Retry row by row so one bad notification does not drop the rest of the batch
+            logger.warn("Failed to store a batch of {} notifications, retrying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(notification -> write(List.of(notification)));
+        }
+    }
+
+    private static NotificationDTO toDTO(Long id, NewNotification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(id);
+        dto.setMessage(notification.message());
+        dto.setRead(false);
+        dto.setRelatedTodoId(notification.relatedTodoId());
+        dto.setCreatedAt(notification.createdAt());
+        return dto;
+    }
+}
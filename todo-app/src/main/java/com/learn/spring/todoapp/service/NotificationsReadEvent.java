@@ -0,0 +1,7 @@
+package com.learn.spring.todoapp.service;
+
+/**
+ * Published by {@link NotificationService} when previously unread notifications of a user are marked as read.
+ */
+public record NotificationsReadEvent(String recipientUsername, long count) {
+}
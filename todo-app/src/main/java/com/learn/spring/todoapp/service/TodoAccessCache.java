@@ -0,0 +1,142 @@
+package com.learn.spring.todoapp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory owner and accepted assignees per todo, used by {@link TodoAuthorizationService}.
+ * <p>
+ * The cache is a fixed table of slots indexed by a hash of the todo id, so keys stay primitive {@code int}s and
+ * the size is bounded by the table: a todo whose slot is taken replaces the previous entry. Reads are a single
+ * volatile array load and never lock. Entries are loaded on first use, dropped after commit when
+ * {@link TodoAccessChangedEvent} reports a change, and reloaded once they are older than the configured TTL so
+ * changes made outside the application are picked up eventually.
+ */
+@Component
+public class TodoAccessCache {
+
+    private final AtomicReferenceArray<Access> slots;
+    // Bumped on every invalidation, so a load that raced with one does not install what it read
+    private final AtomicLongArray stamps;
+    private final int shift;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public TodoAccessCache(@Value("${todo.security.access-cache.max-size:65536}") int maxSize,
+                           @Value("${todo.security.access-cache.ttl:300000}") long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    TodoAccessCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 1 || maxSize > 1 << 30) {
+            throw new IllegalArgumentException("Access cache size must be between 1 and 2^30: " + maxSize);
+        }
+        int capacity = Integer.highestOneBit(maxSize);
+        if (capacity < maxSize) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.stamps = new AtomicLongArray(capacity);
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * The cached access of {@code todoId}, or the result of {@code loader}, which is cached unless it is
+     * {@code null} (the todo does not exist).
+     */
+    public Access get(int todoId, IntFunction<Access> loader) {
+        int slot = slot(todoId);
+        long now = clock.getAsLong();
+        Access cached = slots.get(slot);
+        if (cached != null && cached.todoId == todoId && now - cached.cachedAt < ttlMillis) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long stamp = stamps.get(slot);
+        Access loaded = loader.apply(todoId);
+        if (loaded != null) {
+            loaded = new Access(todoId, loaded.ownerUsername, loaded.acceptedAssignees, now);
+            slots.set(slot, loaded);
+            if (stamps.get(slot) != stamp) {
+                slots.compareAndSet(slot, loaded, null);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(int todoId) {
+        int slot = slot(todoId);
+        stamps.incrementAndGet(slot);
+        Access cached = slots.get(slot);
+        if (cached != null && cached.todoId == todoId) {
+            slots.compareAndSet(slot, cached, null);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoAccessChanged(TodoAccessChangedEvent event) {
+        invalidate(event.todoId());
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    private int slot(int todoId) {
+        // Fibonacci hashing spreads consecutive ids over the table; the top bits select the slot
+        return shift == Integer.SIZE ? 0 : (todoId * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * The owner of a todo and the users holding an ACCEPTED assignment for it.
+     */
+    public static final class Access {
+        private final int todoId;
+        private final String ownerUsername;
+        private final List<String> acceptedAssignees;
+        private final long cachedAt;
+
+        public Access(String ownerUsername, List<String> acceptedAssignees) {
+            this(0, ownerUsername, acceptedAssignees, 0);
+        }
+
+        private Access(int todoId, String ownerUsername, List<String> acceptedAssignees, long cachedAt) {
+            this.todoId = todoId;
+            this.ownerUsername = ownerUsername;
+            this.acceptedAssignees = List.copyOf(acceptedAssignees);
+            this.cachedAt = cachedAt;
+        }
+
+        public boolean isOwner(String username) {
+            return ownerUsername.equals(username);
+        }
+
+        public boolean isAcceptedAssignee(String username) {
+            return acceptedAssignees.contains(username);
+        }
+    }
+}
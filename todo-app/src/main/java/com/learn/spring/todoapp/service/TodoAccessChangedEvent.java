@@ -0,0 +1,8 @@
+package com.learn.spring.todoapp.service;
+
+/**
+ * Published when who may change a todo can have changed: an assignment of the todo moved to another status, or the
+ * todo was deleted.
+ */
+public record TodoAccessChangedEvent(int todoId) {
+}
@@ -1,36 +1,68 @@
 package com.learn.spring.todoapp.service;
 
+import com.learn.spring.todoapp.dto.AssignedTodoDTO;
 import com.learn.spring.todoapp.entity.*;
 import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository.AssignmentSummary;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository.TodoAssignee;
 import com.learn.spring.todoapp.repository.TodoRepository;
-import com.learn.spring.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TodoAssignmentService {
 
+    private static final Set<AssignmentStatus> ACTIVE_STATUSES = EnumSet.of(AssignmentStatus.PENDING, AssignmentStatus.ACCEPTED);
+
     private final TodoAssignmentRepository assignmentRepository;
     private final TodoRepository todoRepository;
-    private final UserRepository userRepository;
+    private final UserReferences userReferences;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    // Assignments moved into each status, counted once the transition is committed
+    private final Map<AssignmentStatus, Counter> transitions = new EnumMap<>(AssignmentStatus.class);
 
     public TodoAssignmentService(TodoAssignmentRepository assignmentRepository,
                                  TodoRepository todoRepository,
-                                 UserRepository userRepository,
-                                 NotificationService notificationService) {
+                                 UserReferences userReferences,
+                                 NotificationService notificationService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
         this.assignmentRepository = assignmentRepository;
         this.todoRepository = todoRepository;
-        this.userRepository = userRepository;
+        this.userReferences = userReferences;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        for (AssignmentStatus status : AssignmentStatus.values()) {
+            transitions.put(status, Counter.builder("todo.assignment.transitions")
+                    .description("Assignment state transitions by target status")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
     }
 
+    /**
+     * Assigns the todo to another user. The partial unique index on todo_assignment allows one PENDING or ACCEPTED
+     * assignment per todo, so of several concurrent assignments of the same todo only one is stored.
+     */
     public TodoAssignment assignTodo(Integer todoId, String assignerUsername, String assigneeUsername) {
         Todo todo = todoRepository.findById(todoId)
                 .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
@@ -39,27 +71,24 @@ public class TodoAssignmentService {
             throw new IllegalStateException("Only the owner can assign this todo");
         }
 
-        User assigner = userRepository.findByUsername(assignerUsername)
-                .orElseThrow(() -> new IllegalArgumentException("Assigner not found"));
-        User assignee = userRepository.findByUsername(assigneeUsername)
+        // The assigner is the owner, so the todo's own reference serves; only the assignee has to be checked
+        User assigner = todo.getUser();
+        User assignee = userReferences.existing(assigneeUsername)
                 .orElseThrow(() -> new IllegalArgumentException("Assignee not found"));
 
-        // Check if already assigned and pending/accepted
-        List<TodoAssignment> existingAssignments = assignmentRepository.findByTodoId(todoId);
-        boolean hasActiveAssignment = existingAssignments.stream()
-                .anyMatch(a -> a.getStatus() == AssignmentStatus.PENDING || a.getStatus() == AssignmentStatus.ACCEPTED);
-
-        if (hasActiveAssignment) {
-            throw new IllegalStateException("Todo is already assigned");
-        }
-
         TodoAssignment assignment = new TodoAssignment();
         assignment.setTodo(todo);
         assignment.setAssigner(assigner);
         assignment.setAssignee(assignee);
         assignment.setStatus(AssignmentStatus.PENDING);
-        
-        TodoAssignment savedAssignment = assignmentRepository.save(assignment);
+
+        TodoAssignment savedAssignment;
+        try {
+            savedAssignment = assignmentRepository.saveAndFlush(assignment);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Todo is already assigned", e);
+        }
+        transitioned(todoId, AssignmentStatus.PENDING);
 
         notificationService.createNotification(assignee, 
             "User " + assignerUsername + " has assigned you a new todo: '" + todo.getDescription() + "'", 
@@ -68,54 +97,86 @@ public class TodoAssignmentService {
         return savedAssignment;
     }
 
+    /**
+     * Accepts or declines a PENDING assignment with a single conditional UPDATE, so of several concurrent answers
+     * exactly one is recorded. The assignment is only read again to notify the assigner, or to explain a refusal.
+     */
     public TodoAssignment respondToAssignment(Long assignmentId, String assigneeUsername, boolean accepted, LocalDate tentativeDate, String declineReason) {
-        TodoAssignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
+        AssignmentStatus status = accepted ? AssignmentStatus.ACCEPTED : AssignmentStatus.DECLINED;
+        int updated = assignmentRepository.respond(assignmentId, assigneeUsername, status, LocalDateTime.now(),
+                accepted ? tentativeDate : null, accepted ? null : declineReason);
 
-        if (!assignment.getAssignee().getUsername().equals(assigneeUsername)) {
-            throw new IllegalStateException("Not authorized to respond to this assignment");
+        TodoAssignment assignment = assignmentRepository.findWithDetailsById(assignmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Assignment not found"));
+        if (updated == 0) {
+            if (!assignment.getAssignee().getUsername().equals(assigneeUsername)) {
+                throw new IllegalStateException("Not authorized to respond to this assignment");
+            }
+            throw new IllegalStateException("Assignment is not in PENDING state");
         }
+        transitioned(assignment.getTodo().getId(), status);
 
-        if (assignment.getStatus() != AssignmentStatus.PENDING) {
-            throw new IllegalStateException("Assignment is not in PENDING state");
+        notificationService.createNotification(assignment.getAssigner(),
+                "User " + assigneeUsername + (accepted ? " accepted" : " declined") + " your assignment for: '"
+                        + assignment.getTodo().getDescription() + "'",
+                Long.valueOf(assignment.getTodo().getId()));
+        return assignment;
+    }
+
+    /**
+     * Completes the todo's ACCEPTED assignment, if it has one, with a conditional UPDATE that only one of several
+     * concurrent completions wins.
+     */
+    public void completeAssignment(Integer todoId) {
+        Optional<AssignmentSummary> accepted =
+                assignmentRepository.findSummaryByTodoIdAndStatus(todoId, AssignmentStatus.ACCEPTED);
+        if (accepted.isEmpty()) {
+            return;
         }
+        AssignmentSummary assignment = accepted.get();
+        if (assignmentRepository.updateStatus(assignment.getId(), AssignmentStatus.ACCEPTED, AssignmentStatus.COMPLETED) == 0) {
+            // Another request completed it first
+            return;
+        }
+        transitioned(todoId, AssignmentStatus.COMPLETED);
+
+        notificationService.createNotification(assignment.getAssignerUsername(),
+                "User " + assignment.getAssigneeUsername() + " completed the task: '" + assignment.getTodoDescription() + "'",
+                Long.valueOf(todoId));
+    }
 
-        assignment.setRespondedAt(LocalDateTime.now());
-        if (accepted) {
-            assignment.setStatus(AssignmentStatus.ACCEPTED);
-            assignment.setTentativeCompletionDate(tentativeDate);
-            notificationService.createNotification(assignment.getAssigner(),
-                    "User " + assigneeUsername + " accepted your assignment for: '" + assignment.getTodo().getDescription() + "'",
-                    Long.valueOf(assignment.getTodo().getId()));
+    private void transitioned(Integer todoId, AssignmentStatus status) {
+        Counter counter = transitions.get(status);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A transition that is rolled back did not happen
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.increment();
+                }
+            });
         } else {
-            assignment.setStatus(AssignmentStatus.DECLINED);
-            assignment.setDeclineReason(declineReason);
-            notificationService.createNotification(assignment.getAssigner(),
-                    "User " + assigneeUsername + " declined your assignment for: '" + assignment.getTodo().getDescription() + "'",
-                    Long.valueOf(assignment.getTodo().getId()));
+            counter.increment();
         }
+        // Accepting or finishing an assignment changes who may edit the todo
+        eventPublisher.publishEvent(new TodoAccessChangedEvent(todoId));
+    }
 
-        return assignmentRepository.save(assignment);
+    @Transactional(readOnly = true)
+    public List<AssignedTodoDTO> getAssignmentsForUser(String username) {
+        return assignmentRepository.findAssignedTodosByAssigneeUsername(username);
     }
-    
-    public void completeAssignment(Integer todoId) {
-        List<TodoAssignment> assignments = assignmentRepository.findByTodoId(todoId);
-        Optional<TodoAssignment> activeAssignment = assignments.stream()
-                .filter(a -> a.getStatus() == AssignmentStatus.ACCEPTED)
-                .findFirst();
-
-        if (activeAssignment.isPresent()) {
-            TodoAssignment assignment = activeAssignment.get();
-            assignment.setStatus(AssignmentStatus.COMPLETED);
-            assignmentRepository.save(assignment);
-            
-            notificationService.createNotification(assignment.getAssigner(),
-                    "User " + assignment.getAssignee().getUsername() + " completed the task: '" + assignment.getTodo().getDescription() + "'",
-                    Long.valueOf(todoId));
+
+    /**
+     * Maps each of the given todos that has a PENDING or ACCEPTED assignment to its assignee's username,
+     * using one query for the whole batch.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, String> getActiveAssignees(Collection<Integer> todoIds) {
+        if (todoIds.isEmpty()) {
+            return Map.of();
         }
-    }
-    
-    public List<TodoAssignment> getAssignmentsForUser(String username) {
-        return assignmentRepository.findByAssigneeUsername(username);
+        return assignmentRepository.findAssigneesByTodoIdInAndStatusIn(todoIds, ACTIVE_STATUSES).stream()
+                .collect(Collectors.toMap(TodoAssignee::getTodoId, TodoAssignee::getAssigneeUsername, (first, second) -> first));
     }
 }
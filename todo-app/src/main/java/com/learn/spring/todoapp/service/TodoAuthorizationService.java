@@ -0,0 +1,62 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.TodoRepository.TodoAccess;
+import com.learn.spring.todoapp.service.TodoAccessCache.Access;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Decides who may change a todo. The owner may edit and delete it; a user holding an ACCEPTED assignment for it
+ * may edit it.
+ * <p>
+ * The owner and accepted assignees of a todo are read with a single indexed statement
+ * ({@link TodoRepository#findAccessById}) and kept in {@link TodoAccessCache}, so checks on a todo that was
+ * checked recently are a memory lookup. A missing todo is reported with {@link IllegalArgumentException}, a
+ * refused user with {@link IllegalStateException}.
+ */
+@Service
+public class TodoAuthorizationService {
+
+    private final TodoRepository todoRepository;
+    private final TodoAccessCache accessCache;
+
+    public TodoAuthorizationService(TodoRepository todoRepository, TodoAccessCache accessCache) {
+        this.todoRepository = todoRepository;
+        this.accessCache = accessCache;
+    }
+
+    public void checkCanEdit(int todoId, String username) {
+        Access access = access(todoId);
+        if (!access.isOwner(username) && !access.isAcceptedAssignee(username)) {
+            throw new IllegalStateException("Not authorized to update this todo");
+        }
+    }
+
+    public void checkCanDelete(int todoId, String username) {
+        if (!access(todoId).isOwner(username)) {
+            throw new IllegalStateException("Not authorized to delete this todo");
+        }
+    }
+
+    private Access access(int todoId) {
+        Access access = accessCache.get(todoId, this::load);
+        if (access == null) {
+            throw new IllegalArgumentException("Invalid todo Id:" + todoId);
+        }
+        return access;
+    }
+
+    private Access load(int todoId) {
+        List<TodoAccess> rows = todoRepository.findAccessById(todoId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return new Access(rows.get(0).getOwnerUsername(), rows.stream()
+                .map(TodoAccess::getAcceptedAssigneeUsername)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+}
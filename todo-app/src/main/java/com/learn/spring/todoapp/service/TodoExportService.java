@@ -0,0 +1,223 @@
+package com.learn.spring.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams todos and their assignments as NDJSON or CSV.
+ * <p>
+ * Rows are read through a forward-only JDBC cursor with a fixed fetch size and written as they arrive, so memory
+ * use stays the same whatever the number of todos. NDJSON writes one object per todo with its assignments nested;
+ * CSV writes one line per todo and assignment pair, with empty assignment columns for unassigned todos.
+ * <p>
+ * The query runs in a read-only JDBC transaction of its own rather than a JPA one, which marks the connection
+ * read-only before it is fetched and so takes it from the SQLite reader pool. An export therefore never holds the
+ * single writer connection while a client downloads it.
+ */
+@Service
+public class TodoExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final String CSV_HEADER = "id,username,description,targetDate,done,assignmentId,assigner,assignee,status,tentativeCompletionDate";
+
+    private static final String SELECT = "SELECT t.id, t.username, t.description, t.target_date, t.done, a.id AS assignment_id, "
+            + "a.assigner_username, a.assignee_username, a.status, a.tentative_completion_date "
+            + "FROM todo t LEFT JOIN todo_assignment a ON a.todo_id = t.id";
+    // Both orders come from an index (idx_todo_username_target_date and the rowid), so nothing is sorted up front
+    private static final String USER_QUERY = SELECT + " WHERE t.username = ? ORDER BY t.target_date, t.id";
+    private static final String ALL_QUERY = SELECT + " ORDER BY t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TodoExportService(DataSource dataSource, ObjectMapper objectMapper,
+                             @Value("${todo.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the todos of {@code username}, or of every user when it is {@code null}, to {@code output}.
+     * The stream is flushed but not closed.
+     *
+     * @return the number of todos written
+     */
+    public long export(String username, Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        ExportHandler handler = format == Format.CSV ? new CsvHandler(writer) : new NdjsonHandler(writer);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (username == null) {
+                    jdbcTemplate.query(ALL_QUERY, handler);
+                } else {
+                    jdbcTemplate.query(USER_QUERY, handler, username);
+                }
+            });
+            handler.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return handler.todos;
+    }
+
+    private abstract static class ExportHandler implements RowCallbackHandler {
+
+        long todos;
+        private int currentTodoId = -1;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                int todoId = rs.getInt("id");
+                if (todoId != currentTodoId) {
+                    if (currentTodoId != -1) {
+                        endTodo();
+                    }
+                    currentTodoId = todoId;
+                    todos++;
+                    startTodo(rs);
+                }
+                if (rs.getObject("assignment_id") != null) {
+                    assignment(rs);
+                } else {
+                    noAssignment();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (currentTodoId != -1) {
+                endTodo();
+            }
+        }
+
+        abstract void startTodo(ResultSet rs) throws SQLException, IOException;
+
+        abstract void assignment(ResultSet rs) throws SQLException, IOException;
+
+        abstract void noAssignment() throws IOException;
+
+        abstract void endTodo() throws IOException;
+    }
+
+    private final class NdjsonHandler extends ExportHandler {
+
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        private NdjsonHandler(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void startTodo(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getInt("id"));
+            generator.writeStringField("username", rs.getString("username"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeStringField("targetDate", rs.getString("target_date"));
+            generator.writeBooleanField("done", rs.getBoolean("done"));
+            generator.writeArrayFieldStart("assignments");
+        }
+
+        @Override
+        void assignment(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("assignment_id"));
+            generator.writeStringField("assigner", rs.getString("assigner_username"));
+            generator.writeStringField("assignee", rs.getString("assignee_username"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("tentativeCompletionDate", rs.getString("tentative_completion_date"));
+            generator.writeEndObject();
+        }
+
+        @Override
+        void noAssignment() {
+        }
+
+        @Override
+        void endTodo() throws IOException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvHandler extends ExportHandler {
+
+        private final Writer writer;
+        private String todoColumns;
+
+        private CsvHandler(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        void startTodo(ResultSet rs) throws SQLException {
+            todoColumns = rs.getInt("id") + "," + csv(rs.getString("username")) + "," + csv(rs.getString("description"))
+                    + "," + csv(rs.getString("target_date")) + "," + rs.getBoolean("done");
+        }
+
+        @Override
+        void assignment(ResultSet rs) throws SQLException, IOException {
+            writer.write(todoColumns);
+            writer.write("," + rs.getLong("assignment_id") + "," + csv(rs.getString("assigner_username"))
+                    + "," + csv(rs.getString("assignee_username")) + "," + csv(rs.getString("status"))
+                    + "," + csv(rs.getString("tentative_completion_date")));
+            writer.write('\n');
+        }
+
+        @Override
+        void noAssignment() throws IOException {
+            writer.write(todoColumns);
+            writer.write(",,,,,\n");
+        }
+
+        @Override
+        void endTodo() {
+        }
+    }
+
+    /**
+     * Quotes a CSV field when it contains a separator, a quote or a line break.
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,285 @@
+package com.learn.spring.todoapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learn.spring.todoapp.dto.ImportResult;
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.repository.TodoBatchRepository;
+import com.learn.spring.todoapp.repository.TodoBatchRepository.NewTodo;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports todos from an NDJSON or CSV stream.
+ * <p>
+ * The input is read one line at a time and valid rows are inserted in JDBC batches of {@code batch-size} rows, one
+ * transaction per batch, so memory use does not grow with the size of the upload. Invalid rows are skipped and
+ * reported. When a batch fails the import stops and reports the last committed line; sending the same input again
+ * with that line as {@code resumeFromLine} continues where it stopped.
+ */
+@Service
+public class TodoImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoImportService.class);
+
+    private final TodoBatchRepository todoBatchRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public TodoImportService(TodoBatchRepository todoBatchRepository, UserRepository userRepository,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             @Value("${todo.import.batch-size:5000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        this.todoBatchRepository = todoBatchRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports todos for {@code username}. Rows may name another owner only when {@code admin} is set, and that
+     * user must exist.
+     *
+     * @param resumeFromLine number of leading lines to skip because an earlier attempt already committed them;
+     *                       a CSV header is always read
+     */
+    public ImportResult importTodos(String username, boolean admin, Format format, InputStream input, long resumeFromLine) {
+        if (resumeFromLine < 0) {
+            throw new IllegalArgumentException("resumeFromLine must not be negative");
+        }
+        Import run = new Import(username, admin, resumeFromLine);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                run.readCsv(reader);
+            } else {
+                run.readNdjson(reader);
+            }
+            run.flush();
+            run.result.setCompleted(true);
+        } catch (IOException e) {
+            run.result.setFailure("Failed to read the input: " + e.getMessage());
+        } catch (DataAccessException e) {
+            run.result.setFailure("Failed to store todos: " + e.getMostSpecificCause().getMessage());
+        }
+        return run.finish();
+    }
+
+    private final class Import {
+
+        private final String username;
+        private final boolean admin;
+        private final long resumeFromLine;
+        private final ImportResult result = new ImportResult();
+        private final List<NewTodo> batch = new ArrayList<>(batchSize);
+        private final Set<String> knownOwners = new HashSet<>();
+        private final long startNanos = System.nanoTime();
+        private long lineNumber;
+
+        private Import(String username, boolean admin, long resumeFromLine) {
+            this.username = username;
+            this.admin = admin;
+            this.resumeFromLine = resumeFromLine;
+            this.knownOwners.add(username);
+            this.result.setResumeFromLine(resumeFromLine);
+        }
+
+        void readNdjson(BufferedReader reader) throws IOException {
+            String line;
+            while ((line = nextLine(reader)) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                TodoDTO row;
+                try {
+                    row = objectMapper.readValue(line, TodoDTO.class);
+                } catch (JsonProcessingException e) {
+                    reject("invalid JSON (" + e.getOriginalMessage() + ")");
+                    continue;
+                }
+                add(row.getUsername(), row.getDescription(), row.getTargetDate(), row.isDone());
+            }
+        }
+
+        void readCsv(BufferedReader reader) throws IOException {
+            lineNumber++;
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> header = parseCsvLine(headerLine);
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            if (!columns.containsKey("description") || !columns.containsKey("targetdate")) {
+                throw new IllegalArgumentException("CSV header must contain description and targetDate columns");
+            }
+            String line;
+            while ((line = nextLine(reader)) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = parseCsvLine(line);
+                String targetDate = field(fields, columns, "targetdate");
+                String done = field(fields, columns, "done");
+                LocalDate parsedDate;
+                try {
+                    parsedDate = targetDate == null || targetDate.isBlank() ? null : LocalDate.parse(targetDate.trim());
+                } catch (DateTimeParseException e) {
+                    reject("targetDate must be an ISO date (yyyy-MM-dd)");
+                    continue;
+                }
+                if (done != null && !done.isBlank() && !done.trim().equalsIgnoreCase("true") && !done.trim().equalsIgnoreCase("false")) {
+                    reject("done must be true or false");
+                    continue;
+                }
+                add(field(fields, columns, "username"), field(fields, columns, "description"), parsedDate,
+                        done != null && done.trim().equalsIgnoreCase("true"));
+            }
+        }
+
+        /**
+         * Reads the next line to import, skipping the lines an earlier attempt committed.
+         */
+        private String nextLine(BufferedReader reader) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (lineNumber <= resumeFromLine);
+            return line;
+        }
+
+        private void add(String owner, String description, LocalDate targetDate, boolean done) {
+            String error = validate(owner, description, targetDate);
+            if (error != null) {
+                reject(error);
+                return;
+            }
+            batch.add(new NewTodo(owner == null || owner.isBlank() ? username : owner, description, targetDate, done));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private String validate(String owner, String description, LocalDate targetDate) {
+            if (description == null || description.isBlank()) {
+                return "description is required";
+            }
+            if (targetDate == null) {
+                return "targetDate is required";
+            }
+            if (owner != null && !owner.isBlank() && !knownOwners.contains(owner)) {
+                if (!admin) {
+                    return "only administrators can import todos for other users";
+                }
+                if (!userRepository.existsByUsername(owner)) {
+                    return "user " + owner + " does not exist";
+                }
+                knownOwners.add(owner);
+            }
+            return null;
+        }
+
+        private void reject(String message) {
+            result.setRejected(result.getRejected() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add("line " + lineNumber + ": " + message);
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> todoBatchRepository.insertAll(batch));
+                result.setImported(result.getImported() + batch.size());
+                batch.clear();
+            }
+            result.setResumeFromLine(Math.max(resumeFromLine, lineNumber));
+        }
+
+        ImportResult finish() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            result.setLinesRead(lineNumber);
+            result.setElapsedMillis(elapsedNanos / 1_000_000);
+            result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getImported() * 1e9 / elapsedNanos);
+            if (result.isCompleted()) {
+                logger.info("Imported {} todos for {} in {} ms ({} rows/s), {} rows rejected", result.getImported(), username,
+                        result.getElapsedMillis(), Math.round(result.getRowsPerSecond()), result.getRejected());
+            } else {
+                logger.warn("Todo import for {} stopped at line {} after {} todos: {}", username, lineNumber,
+                        result.getImported(), result.getFailure());
+            }
+            return result;
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    /**
+     * Splits one CSV line. Fields may be quoted, with {@code ""} for a literal quote; quoted line breaks are not
+     * supported.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
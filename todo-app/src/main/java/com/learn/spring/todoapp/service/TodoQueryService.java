@@ -0,0 +1,90 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.CursorPage;
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import static com.learn.spring.todoapp.repository.TodoSpecifications.*;
+
+/**
+ * Read-side queries for todo listings. Pages are fetched with keyset pagination on (target_date, id)
+ * so that the cost of a page does not depend on how far into the list the caller is, and are read straight
+ * into {@link TodoDTO}s so no entities are loaded.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TodoQueryService {
+
+    private static final Sort KEYSET_ORDER = Sort.by("targetDate", "id");
+
+    private final TodoRepository todoRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public TodoQueryService(TodoRepository todoRepository,
+                            @Value("${todo.pagination.default-size:20}") int defaultPageSize,
+                            @Value("${todo.pagination.max-size:100}") int maxPageSize) {
+        this.todoRepository = todoRepository;
+        this.maxPageSize = maxPageSize;
+        this.defaultPageSize = Math.min(defaultPageSize, maxPageSize);
+    }
+
+    public CursorPage<TodoDTO> findTodos(String username, Boolean done, LocalDate from, LocalDate to,
+                                      String cursor, Integer size) {
+        int limit = resolvePageSize(size);
+
+        Specification<Todo> spec = Specification.where(ownedBy(username))
+                .and(hasDone(done))
+                .and(targetDateFrom(from))
+                .and(targetDateTo(to));
+        if (cursor != null && !cursor.isBlank()) {
+            Position position = decodeCursor(cursor);
+            spec = spec.and(after(position.targetDate(), position.id()));
+        }
+
+        // Fetch one extra row to find out whether another page exists without a COUNT query
+        List<TodoDTO> rows = todoRepository.findViews(spec, KEYSET_ORDER, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<TodoDTO> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    static String encodeCursor(TodoDTO todo) {
+        String raw = todo.getTargetDate() + ":" + todo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new Position(LocalDate.parse(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    record Position(LocalDate targetDate, Integer id) {
+    }
+}
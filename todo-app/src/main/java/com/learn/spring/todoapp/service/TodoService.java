@@ -0,0 +1,76 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Todo writes and the edit form read for the MVC pages.
+ * <p>
+ * Open-session-in-view is disabled, so every entity is loaded and changed inside one of these transactions and
+ * views only ever receive {@link TodoDTO}s. Who may edit or delete a todo is decided by
+ * {@link TodoAuthorizationService} before the todo is read.
+ */
+@Service
+@Transactional
+public class TodoService {
+
+    private final TodoRepository todoRepository;
+    private final UserReferences userReferences;
+    private final TodoAuthorizationService authorizationService;
+    private final TodoAssignmentService todoAssignmentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TodoService(TodoRepository todoRepository, UserReferences userReferences,
+                       TodoAuthorizationService authorizationService, TodoAssignmentService todoAssignmentService,
+                       ApplicationEventPublisher eventPublisher) {
+        this.todoRepository = todoRepository;
+        this.userReferences = userReferences;
+        this.authorizationService = authorizationService;
+        this.todoAssignmentService = todoAssignmentService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public TodoDTO getTodoForUpdate(Integer id, String username) {
+        authorizationService.checkCanEdit(id, username);
+        return todoRepository.findViewById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid todo Id:" + id));
+    }
+
+    public Todo createTodo(Todo todo, String username) {
+        // The form posts id 0 for a new todo, which save() would treat as an existing row and merge with a SELECT
+        todo.setId(null);
+        // Only the foreign key is needed, so the owner row is not read
+        todo.setUser(userReferences.authenticated(username));
+        return todoRepository.save(todo);
+    }
+
+    /**
+     * Copies the editable fields of {@code todo} onto the stored todo, which keeps its owner and assignments and is
+     * written by dirty checking. Marking the todo done completes its assignment.
+     */
+    public Todo updateTodo(Integer id, Todo todo, String username) {
+        authorizationService.checkCanEdit(id, username);
+        Todo existingTodo = todoRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid todo Id:" + id));
+
+        existingTodo.setDescription(todo.getDescription());
+        existingTodo.setTargetDate(todo.getTargetDate());
+        existingTodo.setDone(todo.isDone());
+
+        if (existingTodo.isDone()) {
+            todoAssignmentService.completeAssignment(id);
+        }
+        return existingTodo;
+    }
+
+    public void deleteTodo(Integer id, String username) {
+        authorizationService.checkCanDelete(id, username);
+        todoRepository.deleteById(id);
+        eventPublisher.publishEvent(new TodoAccessChangedEvent(id));
+    }
+}
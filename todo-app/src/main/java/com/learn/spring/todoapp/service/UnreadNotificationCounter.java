@@ -0,0 +1,169 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory unread notification count per user.
+ * <p>
+ * A counter is seeded from the database on first use and then kept current from notification events, applied once
+ * the publishing transaction commits so rolled-back writes never change it. Reads and updates do not lock: counters
+ * live in a concurrent map and count with a {@link LongAdder}.
+ * <p>
+ * A seed only counts the writes committed before its query, and a write that commits meanwhile may or may not be
+ * included. Writes are therefore tracked per stripe of usernames from the moment their event is published until
+ * their transaction completes, and a seed that overlapped one is returned to the caller without being kept. Events
+ * published outside a transaction are applied immediately.
+ * <p>
+ * Counters older than the configured TTL are reseeded to correct any drift. Expired counters, and the least
+ * recently read ones beyond the maximum size, are evicted by a periodic sweep rather than on the read path.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final int STRIPES = 64;
+
+    private final NotificationRepository notificationRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLongArray writesInFlight = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray writesCompleted = new AtomicLongArray(STRIPES);
+
+    @Autowired
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${todo.notifications.unread-cache.max-size:10000}") int maxSize,
+                                     @Value("${todo.notifications.unread-cache.ttl:300000}") long ttlMillis) {
+        this(notificationRepository, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    UnreadNotificationCounter(NotificationRepository notificationRepository, int maxSize, long ttlMillis, LongSupplier clock) {
+        this.notificationRepository = notificationRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public long get(String username) {
+        long now = clock.getAsLong();
+        Counter counter = counters.get(username);
+        if (counter != null && !counter.isExpired(now, ttlMillis)) {
+            counter.lastAccess = now;
+            return Math.max(0, counter.value.sum());
+        }
+
+        int stripe = stripe(username);
+        long completed = writesCompleted.get(stripe);
+        boolean quiet = writesInFlight.get(stripe) == 0;
+        long unread = notificationRepository.countByRecipientUsernameAndIsReadFalse(username);
+        if (quiet) {
+            Counter seeded = new Counter(unread, now);
+            counters.put(username, seeded);
+            // A write that started or finished while the seed was read is either missing from it or about to
+            // be applied on top of it, so the seed is dropped and the next read tries again
+            if (writesInFlight.get(stripe) != 0 || writesCompleted.get(stripe) != completed) {
+                counters.remove(username, seeded);
+            }
+        }
+        return unread;
+    }
+
+    public void invalidate(String username) {
+        counters.remove(username);
+    }
+
+    @EventListener
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        adjustOnCommit(event.recipientUsername(), 1);
+    }
+
+    @EventListener
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        adjustOnCommit(event.recipientUsername(), -event.count());
+    }
+
+    /**
+     * Drops expired counters, then the least recently read ones until at most {@code max-size} remain.
+     */
+    @Scheduled(fixedDelayString = "${todo.notifications.unread-cache.eviction-interval:30000}")
+    public void evict() {
+        long now = clock.getAsLong();
+        counters.entrySet().removeIf(entry -> entry.getValue().isExpired(now, ttlMillis));
+        int excess = counters.size() - maxSize;
+        if (excess > 0) {
+            counters.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> counters.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private void adjustOnCommit(String username, long delta) {
+        int stripe = stripe(username);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjust(username, delta);
+            writesCompleted.incrementAndGet(stripe);
+            return;
+        }
+        writesInFlight.incrementAndGet(stripe);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjust(username, delta);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                writesCompleted.incrementAndGet(stripe);
+                writesInFlight.decrementAndGet(stripe);
+            }
+        });
+    }
+
+    private void adjust(String username, long delta) {
+        // Users without a counter are seeded from the database on their next read
+        Counter counter = counters.get(username);
+        if (counter != null) {
+            counter.value.add(delta);
+        }
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), STRIPES);
+    }
+
+    private static final class Counter {
+        private final LongAdder value = new LongAdder();
+        private final long seededAt;
+        private volatile long lastAccess;
+
+        private Counter(long initial, long now) {
+            this.value.add(initial);
+            this.seededAt = now;
+            this.lastAccess = now;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            return now - seededAt >= ttlMillis;
+        }
+    }
+}
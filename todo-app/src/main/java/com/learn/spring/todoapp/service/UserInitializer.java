@@ -1,48 +1,84 @@
 package com.learn.spring.todoapp.service;
 
+import com.learn.spring.todoapp.config.StartupTimings;
 import com.learn.spring.todoapp.entity.User;
 import com.learn.spring.todoapp.repository.AuthorityRepository;
 import com.learn.spring.todoapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Component
 public class UserInitializer {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserInitializer.class);
+
+    static final List<DefaultUser> DEFAULT_USERS = List.of(
+            new DefaultUser("admin", "admin123", "admin@example.com", true),
+            new DefaultUser("user1", "user123", "user1@example.com", false),
+            new DefaultUser("user2", "user123", "user2@example.com", false));
+
     private final UserRepository userRepository;
     private final AuthorityRepository authorityRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StartupTimings startupTimings;
 
-    public UserInitializer(UserRepository userRepository, 
+    public UserInitializer(UserRepository userRepository,
                           AuthorityRepository authorityRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          StartupTimings startupTimings) {
         this.userRepository = userRepository;
         this.authorityRepository = authorityRepository;
         this.passwordEncoder = passwordEncoder;
+        this.startupTimings = startupTimings;
     }
 
     @PostConstruct
     public void init() {
-        // Ensure default users exist on startup
-        createUserIfNotExists("admin", "admin123", "admin@example.com", true);
-        createUserIfNotExists("user1", "user123", "user1@example.com", false);
-        createUserIfNotExists("user2", "user123", "user2@example.com", false);
+        startupTimings.time("default-users", this::createMissingDefaultUsers);
     }
 
-    private void createUserIfNotExists(String username, String rawPassword, String email, boolean isAdmin) {
-        if (!userRepository.existsByUsername(username)) {
-            User user = new User(username, passwordEncoder.encode(rawPassword), email);
-            userRepository.save(user);
+    /**
+     * Ensures the default users exist. One query finds the ones already present, so a restart against an
+     * initialized database does no hashing and no writes.
+     */
+    void createMissingDefaultUsers() {
+        Set<String> existing = userRepository.findAllById(DEFAULT_USERS.stream().map(DefaultUser::username).toList())
+                .stream()
+                .map(User::getUsername)
+                .collect(Collectors.toSet());
+        if (existing.size() == DEFAULT_USERS.size()) {
+            logger.debug("Default users already present, skipping");
+            return;
+        }
 
-            // Assign authorities
-            authorityRepository.addAuthority(username, "ROLE_USER");
-            if (isAdmin) {
-                authorityRepository.addAuthority(username, "ROLE_ADMIN");
+        for (DefaultUser defaultUser : DEFAULT_USERS) {
+            if (!existing.contains(defaultUser.username())) {
+                createUser(defaultUser);
             }
+        }
+    }
+
+    private void createUser(DefaultUser defaultUser) {
+        User user = new User(defaultUser.username(), passwordEncoder.encode(defaultUser.rawPassword()), defaultUser.email());
+        userRepository.save(user);
 
-            System.out.println("Default user created: " + user.getUsername());
+        // Assign authorities
+        authorityRepository.addAuthority(defaultUser.username(), "ROLE_USER");
+        if (defaultUser.admin()) {
+            authorityRepository.addAuthority(defaultUser.username(), "ROLE_ADMIN");
         }
+
+        logger.info("Default user created: {}", user.getUsername());
+    }
+
+    record DefaultUser(String username, String rawPassword, String email, boolean admin) {
     }
 }
@@ -0,0 +1,67 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Hands out {@link User} references for owner, assigner and assignee foreign keys without loading the user row.
+ * <p>
+ * The authenticated user was loaded when they logged in, so {@link #authenticated(String)} never queries. Any
+ * other user is checked once with a primary key lookup; usernames confirmed during a web request are remembered
+ * for the rest of that request, so repeated checks in one request query only once. Outside a web request nothing
+ * is remembered.
+ */
+@Component
+public class UserReferences {
+
+    private static final String KNOWN_USERNAMES = UserReferences.class.getName() + ".knownUsernames";
+
+    private final UserRepository userRepository;
+
+    public UserReferences(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * A reference to the user the current request is authenticated as. The row is not read; pass only the
+     * username of the authenticated principal.
+     */
+    public User authenticated(String username) {
+        return userRepository.getReferenceById(username);
+    }
+
+    /**
+     * A reference to {@code username}, or empty when no such user exists.
+     */
+    public Optional<User> existing(String username) {
+        Set<String> known = knownUsernames();
+        if (!known.contains(username)) {
+            if (!userRepository.existsById(username)) {
+                return Optional.empty();
+            }
+            known.add(username);
+        }
+        return Optional.of(userRepository.getReferenceById(username));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> knownUsernames() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return new HashSet<>();
+        }
+        Set<String> known = (Set<String>) request.getAttribute(KNOWN_USERNAMES, RequestAttributes.SCOPE_REQUEST);
+        if (known == null) {
+            known = new HashSet<>();
+            request.setAttribute(KNOWN_USERNAMES, known, RequestAttributes.SCOPE_REQUEST);
+        }
+        return known;
+    }
+}
@@ -0,0 +1,390 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.cache.LruCache;
+import com.learn.spring.todoapp.dto.CursorPage;
+import com.learn.spring.todoapp.dto.UserDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory index behind the user search of the assign dialog.
+ * <p>
+ * Usernames and emails are kept in sorted maps for prefix lookups and in a trigram index for substring lookups,
+ * so a search never scans the {@code users} table. The index is loaded from the database in the background once
+ * the application is ready, or by the first search if that comes earlier, and registrations add to it as they happen.
+ * Matches are ranked exact username first, then username prefix, email prefix and substring of either,
+ * alphabetically within each rank. Queries shorter than {@code min-length} match nothing, and substring matching
+ * needs at least three characters.
+ * <p>
+ * Results are paged with a cursor holding the rank and sort key of the last user returned. Pages are cached per
+ * query, limit and cursor until the index changes, and each carries an ETag derived from its content.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final int USERNAME_PREFIX = 0;
+    private static final int EMAIL_PREFIX = 1;
+    private static final int SUBSTRING = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int minLength;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int cacheSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Sorted keys are the lowercased value, a NUL and the username, so an exact match sorts before longer ones
+    // and neither usernames differing in case nor users sharing an email collide
+    private final NavigableMap<String, Entry> byUsername = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Entry> byEmail = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Entry>> trigrams = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private final LruCache<PageKey, CachedPage> pages;
+    // Bumped on every change so pages computed before it are never served
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public UserSearchIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           @Value("${todo.users.search.min-length:2}") int minLength,
+                           @Value("${todo.users.search.default-limit:10}") int defaultLimit,
+                           @Value("${todo.users.search.max-limit:50}") int maxLimit,
+                           @Value("${todo.users.search.cache-size:1000}") int cacheSize) {
+        if (minLength < 1 || defaultLimit < 1 || maxLimit < defaultLimit) {
+            throw new IllegalArgumentException("User search needs min-length >= 1 and 1 <= default-limit <= max-limit");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // Load from committed data only, on the reader pool
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.minLength = minLength;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.cacheSize = cacheSize;
+        this.pages = new LruCache<>(Math.max(cacheSize, 0));
+    }
+
+    /**
+     * Returns a page of up to {@code limit} users matching {@code query}, best matches first, starting after
+     * {@code cursor} when one is given. A {@code null} limit means {@code default-limit}; larger limits are capped
+     * at {@code max-limit}.
+     */
+    public SearchResult search(String query, Integer limit, String cursor) {
+        int max = limit == null ? defaultLimit : Math.min(limit, maxLimit);
+        if (max < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        Position after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        String key = query == null ? "" : normalize(query.trim());
+        if (key.length() < minLength) {
+            return result(new CursorPage<>(List.of(), null, false));
+        }
+        ensureLoaded();
+
+        PageKey pageKey = new PageKey(key, max, after);
+        long current = generation.get();
+        CachedPage cached = pages.get(pageKey);
+        if (cached != null && cached.generation() == current) {
+            cacheHits.increment();
+            return cached.result();
+        }
+        cacheMisses.increment();
+        SearchResult result = result(findPage(key, max, after));
+        if (cacheSize > 0) {
+            pages.put(pageKey, new CachedPage(result, current));
+        }
+        return result;
+    }
+
+    /**
+     * Adds a user, or replaces the indexed email of an existing one.
+     */
+    public void add(String username, String email) {
+        Entry entry = new Entry(username, email, normalize(username), email == null ? null : normalize(email));
+        Entry previous = entries.put(username, entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byUsername.put(entry.usernameSortKey(), entry);
+        if (entry.emailKey() != null) {
+            byEmail.put(entry.emailSortKey(), entry);
+        }
+        for (String gram : grams(entry)) {
+            trigrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(entry);
+        }
+        invalidatePages();
+    }
+
+    public void remove(String username) {
+        Entry entry = entries.remove(username);
+        if (entry != null) {
+            unindex(entry);
+            invalidatePages();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread loader = new Thread(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to load the user search index, the first search will retry", e);
+            }
+        }, "user-search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMissCount() {
+        return cacheMisses.sum();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        // Registrations during the load add the same entries again, which is harmless
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query("SELECT username, email FROM users",
+                (RowCallbackHandler) rs -> add(rs.getString("username"), rs.getString("email"))));
+        logger.info("Loaded {} users into the search index in {} ms", entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void unindex(Entry entry) {
+        byUsername.remove(entry.usernameSortKey(), entry);
+        if (entry.emailKey() != null) {
+            byEmail.remove(entry.emailSortKey(), entry);
+        }
+        for (String gram : grams(entry)) {
+            Set<Entry> posting = trigrams.get(gram);
+            if (posting != null) {
+                posting.remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Walks the ranks in order from the cursor position, collecting one match more than the page needs to
+     * tell whether another page follows. A user is only reported in its best rank.
+     */
+    private CursorPage<UserDTO> findPage(String key, int max, Position after) {
+        List<Match> matches = new ArrayList<>(max + 1);
+        int wanted = max + 1;
+        int startRank = after == null ? USERNAME_PREFIX : after.rank();
+        if (startRank <= USERNAME_PREFIX) {
+            addPrefixMatches(USERNAME_PREFIX, byUsername, key, after, matches, wanted);
+        }
+        if (startRank <= EMAIL_PREFIX && matches.size() < wanted) {
+            addPrefixMatches(EMAIL_PREFIX, byEmail, key, after, matches, wanted);
+        }
+        if (matches.size() < wanted && key.length() >= GRAM) {
+            addSubstringMatches(key, after, matches, wanted);
+        }
+
+        boolean hasMore = matches.size() > max;
+        List<Match> page = hasMore ? matches.subList(0, max) : matches;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).position()) : null;
+        List<UserDTO> items = page.stream()
+                .map(match -> new UserDTO(match.entry().username(), match.entry().email()))
+                .toList();
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    private static void addPrefixMatches(int rank, NavigableMap<String, Entry> index, String prefix, Position after,
+                                         List<Match> matches, int wanted) {
+        Map<String, Entry> candidates = after != null && after.rank() == rank
+                ? index.tailMap(after.sortKey(), false)
+                : index.tailMap(prefix, true);
+        for (Map.Entry<String, Entry> candidate : candidates.entrySet()) {
+            if (matches.size() >= wanted || !candidate.getKey().startsWith(prefix)) {
+                return;
+            }
+            if (rank == EMAIL_PREFIX && candidate.getValue().usernameKey().startsWith(prefix)) {
+                continue;
+            }
+            matches.add(new Match(candidate.getValue(), new Position(rank, candidate.getKey())));
+        }
+    }
+
+    /**
+     * Scans the shortest posting list among the query's trigrams and keeps the alphabetically first users after
+     * the cursor that contain the whole query without starting with it.
+     */
+    private void addSubstringMatches(String key, Position after, List<Match> matches, int wanted) {
+        Set<Entry> smallest = null;
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            Set<Entry> posting = trigrams.get(key.substring(i, i + GRAM));
+            if (posting == null) {
+                return;
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        String afterKey = after != null && after.rank() == SUBSTRING ? after.sortKey() : null;
+        int room = wanted - matches.size();
+        PriorityQueue<Entry> best = new PriorityQueue<>(Comparator.comparing(Entry::usernameSortKey).reversed());
+        for (Entry entry : smallest) {
+            if (!isSubstringMatch(entry, key) || (afterKey != null && entry.usernameSortKey().compareTo(afterKey) <= 0)) {
+                continue;
+            }
+            best.add(entry);
+            if (best.size() > room) {
+                best.poll();
+            }
+        }
+        best.stream()
+                .sorted(Comparator.comparing(Entry::usernameSortKey))
+                .forEach(entry -> matches.add(new Match(entry, new Position(SUBSTRING, entry.usernameSortKey()))));
+    }
+
+    private static boolean isSubstringMatch(Entry entry, String key) {
+        if (entry.usernameKey().startsWith(key) || (entry.emailKey() != null && entry.emailKey().startsWith(key))) {
+            return false;
+        }
+        return entry.usernameKey().contains(key) || (entry.emailKey() != null && entry.emailKey().contains(key));
+    }
+
+    private void invalidatePages() {
+        generation.incrementAndGet();
+        pages.clear();
+    }
+
+    private static SearchResult result(CursorPage<UserDTO> page) {
+        return new SearchResult(page, etag(page));
+    }
+
+    /**
+     * Strong ETag over everything the response body is serialized from.
+     */
+    static String etag(CursorPage<UserDTO> page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (UserDTO user : page.getItems()) {
+                digest.update((user.getUsername() + '\0' + user.getEmail() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(String.valueOf(page.getNextCursor()).getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String encodeCursor(Position position) {
+        String raw = position.rank() + ":" + position.sortKey();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            int rank = Integer.parseInt(raw.substring(0, separator));
+            if (rank < USERNAME_PREFIX || rank > SUBSTRING) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Position(rank, raw.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static Set<String> grams(Entry entry) {
+        Set<String> grams = new LinkedHashSet<>();
+        addGrams(entry.usernameKey(), grams);
+        if (entry.emailKey() != null) {
+            addGrams(entry.emailKey(), grams);
+        }
+        return grams;
+    }
+
+    private static void addGrams(String value, Set<String> grams) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A page of search results and its ETag.
+     */
+    public record SearchResult(CursorPage<UserDTO> page, String etag) {
+    }
+
+    record Position(int rank, String sortKey) {
+    }
+
+    private record Match(Entry entry, Position position) {
+    }
+
+    private record PageKey(String query, int limit, Position after) {
+    }
+
+    private record CachedPage(SearchResult result, long generation) {
+    }
+
+    private record Entry(String username, String email, String usernameKey, String emailKey) {
+
+        String usernameSortKey() {
+            return usernameKey + '\0' + username;
+        }
+
+        String emailSortKey() {
+            return emailKey + '\0' + username;
+        }
+    }
+}
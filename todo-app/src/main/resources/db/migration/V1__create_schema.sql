@@ -1,10 +1,3 @@
--- Drop tables if they exist to avoid conflicts
-DROP TABLE IF EXISTS notification;
-DROP TABLE IF EXISTS todo_assignment;
-DROP TABLE IF EXISTS authorities;
-DROP TABLE IF EXISTS users;
-DROP TABLE IF EXISTS todo;
-
 -- Create todo table with SQLite-compatible syntax
 CREATE TABLE IF NOT EXISTS todo (
     id INTEGER PRIMARY KEY,
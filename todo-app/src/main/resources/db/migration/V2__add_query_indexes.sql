@@ -0,0 +1,27 @@
+-- Indexes for the repository queries. SQLite appends the rowid (the INTEGER PRIMARY KEY) to every
+-- index entry, so an index on (a) also returns rows in (a, id) order without a sort step.
+-- QueryPlanIntegrationTest fails if a repository query stops using one of these.
+
+-- TodoRepository.findByUsername and the keyset-paginated list: username = ? ORDER BY target_date, id
+CREATE INDEX IF NOT EXISTS idx_todo_username_target_date ON todo (username, target_date);
+
+-- TodoAssignmentRepository: "Assigned to You" panel and findByAssigneeUsername (ORDER BY id)
+CREATE INDEX IF NOT EXISTS idx_todo_assignment_assignee ON todo_assignment (assignee_username);
+
+-- TodoAssignmentRepository.findByAssignerUsername
+CREATE INDEX IF NOT EXISTS idx_todo_assignment_assigner ON todo_assignment (assigner_username);
+
+-- TodoAssignmentRepository.findByTodoId and the covering lookup of active assignees per todo
+CREATE INDEX IF NOT EXISTS idx_todo_assignment_todo_status ON todo_assignment (todo_id, status, assignee_username);
+
+-- NotificationRepository: unread list, unread count and bulk mark-as-read
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_read_created ON notification (recipient_username, is_read, created_at);
+
+-- NotificationRepository.findByRecipientUsernameOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_created ON notification (recipient_username, created_at);
+
+-- NotificationRepository.findByRecipientUsernameAndIdGreaterThanOrderByIdAsc (stream replay after Last-Event-ID)
+CREATE INDEX IF NOT EXISTS idx_notification_recipient_id ON notification (recipient_username, id);
+
+-- UserRepository.findByEmail / existsByEmail
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
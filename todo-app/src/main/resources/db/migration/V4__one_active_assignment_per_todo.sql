@@ -0,0 +1,12 @@
+-- At most one PENDING or ACCEPTED assignment per todo. TodoAssignmentService relies on this index instead of
+-- reading a todo's assignments before assigning it, so concurrent assignments of one todo cannot both succeed.
+
+-- Concurrent assignments made before the index existed may have left several active assignments for a todo:
+-- keep the earliest and decline the others so the index can be built.
+UPDATE todo_assignment
+SET status = 'DECLINED', decline_reason = 'Superseded by an earlier assignment'
+WHERE status IN ('PENDING', 'ACCEPTED')
+  AND id NOT IN (SELECT MIN(id) FROM todo_assignment WHERE status IN ('PENDING', 'ACCEPTED') GROUP BY todo_id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_todo_assignment_one_active ON todo_assignment (todo_id)
+    WHERE status IN ('PENDING', 'ACCEPTED');
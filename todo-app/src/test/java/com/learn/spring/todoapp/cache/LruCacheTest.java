@@ -0,0 +1,58 @@
+package com.learn.spring.todoapp.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LruCacheTest {
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedWhenFull() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+
+        // When
+        cache.put("d", 4);
+
+        // Then
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+    }
+
+    @Test
+    void put_ShouldNotEvictWhenReplacingExistingKey() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // When
+        cache.put("a", 10);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(10, cache.get("a"));
+    }
+
+    @Test
+    void remove_ShouldOnlyRemoveMatchingValueAndNotCountAsEviction() {
+        // Given
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+
+        // When / Then
+        assertFalse(cache.remove("a", 2));
+        assertTrue(cache.remove("a", 1));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
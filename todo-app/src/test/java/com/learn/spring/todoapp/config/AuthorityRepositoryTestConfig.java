@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -33,8 +34,8 @@ public class AuthorityRepositoryTestConfig {
 
     @Bean
     @Primary
-    public AuthorityRepository authorityRepository(JdbcTemplate jdbcTemplate) {
-        return new AuthorityRepository(jdbcTemplate);
+    public AuthorityRepository authorityRepository(JdbcTemplate jdbcTemplate, UserCache userCache) {
+        return new AuthorityRepository(jdbcTemplate, userCache);
     }
 
     @Bean
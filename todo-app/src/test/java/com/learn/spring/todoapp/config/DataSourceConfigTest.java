@@ -0,0 +1,100 @@
+package com.learn.spring.todoapp.config;
+
+import com.learn.spring.todoapp.config.DataSourceConfig.SqliteRoutingDataSource;
+import com.learn.spring.todoapp.config.DataSourceConfig.SqliteSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSourceConfigTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("test.db");
+        dataSource = DataSourceConfig.sqliteDataSource(url, new SqliteSettings(2, 4000, -2000, 1048576, 5000));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        jdbcTemplate.execute("CREATE TABLE item (id INTEGER PRIMARY KEY, name TEXT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void connections_ShouldHavePragmasApplied() {
+        assertEquals("wal", jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("PRAGMA synchronous", Integer.class)); // NORMAL
+        assertEquals(4000, jdbcTemplate.queryForObject("PRAGMA busy_timeout", Integer.class));
+        assertEquals(-2000, jdbcTemplate.queryForObject("PRAGMA cache_size", Integer.class));
+        assertEquals(1048576L, jdbcTemplate.queryForObject("PRAGMA mmap_size", Long.class));
+
+        readOnly.executeWithoutResult(status -> {
+            assertEquals("wal", jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class));
+            assertEquals(4000, jdbcTemplate.queryForObject("PRAGMA busy_timeout", Integer.class));
+        });
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUseReaderPool() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO item (name) VALUES ('first')"));
+
+        readOnly.executeWithoutResult(status -> {
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+            assertEquals(1, dataSource.getReader().getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, dataSource.getWriter().getHikariPoolMXBean().getActiveConnections());
+            assertThrows(DataAccessException.class,
+                    () -> jdbcTemplate.update("INSERT INTO item (name) VALUES ('second')"));
+        });
+    }
+
+    @Test
+    void readers_ShouldNotBlockTheWriter() {
+        readOnly.executeWithoutResult(status -> {
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+
+            // A write committed on the writer while the read transaction is still open
+            new JdbcTemplate(dataSource.getWriter()).update("INSERT INTO item (name) VALUES ('concurrent')");
+
+            // The reader keeps its snapshot until its transaction ends
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+        });
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+    }
+
+    @Test
+    void sqliteReaderPoolSize_ShouldKeepConfiguredSizeOnPlatformThreads() {
+        assertEquals(4, DataSourceConfig.sqliteReaderPoolSize(4, false, 2));
+    }
+
+    @Test
+    void sqliteReaderPoolSize_ShouldLeaveACarrierFreeOnVirtualThreads() {
+        assertEquals(4, DataSourceConfig.sqliteReaderPoolSize(4, true, 8));
+        assertEquals(2, DataSourceConfig.sqliteReaderPoolSize(4, true, 4));
+        assertEquals(1, DataSourceConfig.sqliteReaderPoolSize(4, true, 1));
+    }
+}
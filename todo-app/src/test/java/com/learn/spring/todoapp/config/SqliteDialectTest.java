@@ -0,0 +1,38 @@
+package com.learn.spring.todoapp.config;
+
+import org.hibernate.JDBCException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.LockAcquisitionException;
+import org.hibernate.exception.spi.SQLExceptionConversionDelegate;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqliteDialectTest {
+
+    private final SQLExceptionConversionDelegate delegate = new SqliteDialect().buildSQLExceptionConversionDelegate();
+
+    @Test
+    void convert_ShouldReportUniqueIndexFailureAsConstraintViolation() {
+        // SQLITE_CONSTRAINT_UNIQUE, as reported by sqlite-jdbc for a partial unique index
+        SQLException unique = new SQLException(
+                "[SQLITE_CONSTRAINT_UNIQUE] A UNIQUE constraint failed (UNIQUE constraint failed: todo_assignment.todo_id)",
+                null, 2067);
+
+        JDBCException converted = delegate.convert(unique, "could not execute statement", "insert into todo_assignment");
+
+        assertInstanceOf(ConstraintViolationException.class, converted);
+        assertSame(unique, converted.getSQLException());
+    }
+
+    @Test
+    void convert_ShouldKeepOtherMappings() {
+        // SQLITE_BUSY
+        SQLException busy = new SQLException("[SQLITE_BUSY] The database file is locked", null, 5);
+
+        assertInstanceOf(LockAcquisitionException.class, delegate.convert(busy, "could not execute statement", "update todo"));
+        assertNull(delegate.convert(new SQLException("unknown", null, 1), "could not execute statement", "select 1"));
+    }
+}
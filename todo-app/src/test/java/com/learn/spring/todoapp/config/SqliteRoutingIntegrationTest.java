@@ -0,0 +1,130 @@
+package com.learn.spring.todoapp.config;
+
+import com.learn.spring.todoapp.config.DataSourceConfig.SqliteRoutingDataSource;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.service.TodoExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Runs JPA transactions and the todo export against the SQLite writer and reader pools built by
+ * {@link DataSourceConfig} and checks which pool each one borrows from. The application's own properties are loaded on top of the test profile, because
+ * Hibernate's connection handling mode decides whether a read-only transaction reaches the reader pool at all.
+ */
+@SpringBootTest(properties = "spring.flyway.enabled=true")
+@TestPropertySource(locations = "file:src/main/resources/application.properties")
+@ActiveProfiles("test")
+public class SqliteRoutingIntegrationTest {
+
+    private static final String EXPORT_USER = "exportrouting";
+
+    @DynamicPropertySource
+    static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+        String file = Files.createTempDirectory("sqlite-routing").resolve("todos.db").toString();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoExportService todoExportService;
+
+    private SqliteRoutingDataSource sqlite;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        sqlite = assertInstanceOf(SqliteRoutingDataSource.class, dataSource);
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyJpaTransactions_ShouldUseReaderPool() {
+        readOnly.executeWithoutResult(status -> {
+            todoRepository.findByUsername("routinguser");
+
+            assertEquals(1, sqlite.getReader().getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, sqlite.getWriter().getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+
+    @Test
+    void readWriteJpaTransactions_ShouldUseWriterPool() {
+        readWrite.executeWithoutResult(status -> {
+            todoRepository.findByUsername("routinguser");
+
+            assertEquals(0, sqlite.getReader().getHikariPoolMXBean().getActiveConnections());
+            assertEquals(1, sqlite.getWriter().getHikariPoolMXBean().getActiveConnections());
+        });
+    }
+
+    @Test
+    void export_ShouldStreamFromReaderPool() throws IOException {
+        // Enough rows to overflow the export's write buffer, so the output is written while the cursor is open
+        JdbcTemplate writer = new JdbcTemplate(sqlite.getWriter());
+        List<Object[]> rows = IntStream.range(0, 2000)
+                .mapToObj(i -> new Object[]{EXPORT_USER, "Exported todo " + i, "2030-01-01"})
+                .toList();
+        writer.batchUpdate("INSERT INTO todo (username, description, target_date, done) VALUES (?, ?, ?, 0)", rows);
+
+        List<Integer> readerActive = new ArrayList<>();
+        List<Integer> writerActive = new ArrayList<>();
+        OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) {
+                record();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                record();
+            }
+
+            private void record() {
+                readerActive.add(sqlite.getReader().getHikariPoolMXBean().getActiveConnections());
+                writerActive.add(sqlite.getWriter().getHikariPoolMXBean().getActiveConnections());
+            }
+        };
+
+        try {
+            assertEquals(2000, todoExportService.export(EXPORT_USER, TodoExportService.Format.NDJSON, output));
+        } finally {
+            writer.update("DELETE FROM todo WHERE username = ?", EXPORT_USER);
+        }
+
+        assertEquals(1, readerActive.get(0));
+        assertEquals(0, writerActive.get(0));
+    }
+}
@@ -0,0 +1,35 @@
+package com.learn.spring.todoapp.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupTimingsTest {
+
+    @Test
+    void time_ShouldRecordPhasesInOrderAndReturnResult() {
+        StartupTimings timings = new StartupTimings(Duration.ofSeconds(30));
+
+        String result = timings.time("schema-migration", () -> "done");
+        timings.record("default-users", Duration.ofMillis(5));
+        timings.record("default-users", Duration.ofMillis(7));
+
+        assertEquals("done", result);
+        assertEquals(Duration.ofMillis(12), timings.getPhases().get("default-users"));
+        assertTrue(timings.summary(Duration.ofMillis(1500))
+                .matches("schema-migration=\\d+ms, default-users=12ms, total=1500ms"));
+    }
+
+    @Test
+    void time_ShouldRecordPhaseEvenWhenItFails() {
+        StartupTimings timings = new StartupTimings(Duration.ofSeconds(30));
+
+        assertThrows(IllegalStateException.class, () -> timings.time("schema-migration", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertTrue(timings.getPhases().containsKey("schema-migration"));
+    }
+}
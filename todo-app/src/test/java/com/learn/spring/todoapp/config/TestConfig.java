@@ -10,9 +10,11 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.userdetails.cache.NullUserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 @TestConfiguration
 public class TestConfig {
@@ -42,7 +44,7 @@ public class TestConfig {
     public AuthorityRepository authorityRepository(JdbcTemplate jdbcTemplate) {
         // For AuthorityRepositoryTest, we need a real implementation
         if (isAuthorityRepositoryTest()) {
-            return new AuthorityRepository(jdbcTemplate);
+            return new AuthorityRepository(jdbcTemplate, new NullUserCache());
         }
         // For other tests, use a mock
         return Mockito.mock(AuthorityRepository.class);
@@ -75,7 +77,8 @@ public class TestConfig {
     public UserInitializer userInitializer(UserRepository userRepository,
                                            AuthorityRepository authorityRepository,
                                            PasswordEncoder passwordEncoder) {
-        return new UserInitializer(userRepository, authorityRepository, passwordEncoder) {
+        return new UserInitializer(userRepository, authorityRepository, passwordEncoder,
+                new StartupTimings(Duration.ofSeconds(30))) {
             @Override
             public void init() {
                 // Do nothing in tests
@@ -1,5 +1,7 @@
 package com.learn.spring.todoapp.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -23,4 +25,9 @@ public class TodoControllerJpaTestConfig {
                 );
         return http.build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
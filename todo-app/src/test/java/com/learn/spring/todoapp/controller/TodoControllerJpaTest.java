@@ -1,13 +1,15 @@
 package com.learn.spring.todoapp.controller;
 
 import com.learn.spring.todoapp.config.TodoControllerJpaTestConfig;
+import com.learn.spring.todoapp.dto.CursorPage;
+import com.learn.spring.todoapp.dto.TodoDTO;
 import com.learn.spring.todoapp.entity.Todo;
-import com.learn.spring.todoapp.entity.User;
-import com.learn.spring.todoapp.repository.TodoRepository;
-import com.learn.spring.todoapp.repository.UserRepository;
 import com.learn.spring.todoapp.service.TodoAssignmentService;
+import com.learn.spring.todoapp.service.TodoQueryService;
+import com.learn.spring.todoapp.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -19,11 +21,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -41,30 +42,28 @@ public class TodoControllerJpaTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private TodoRepository todoRepository;
+    private TodoService todoService;
 
-    @MockBean
-    private UserRepository userRepository;
-    
     @MockBean
     private TodoAssignmentService todoAssignmentService;
 
-    private User testUser;
-    private Todo testTodo;
+    @MockBean
+    private TodoQueryService todoQueryService;
+
+    private TodoDTO testTodo;
 
     @BeforeEach
     void setUp() {
-        testUser = new User("testuser", "password", "test@example.com");
-        testTodo = new Todo(1, "testuser", "Test Todo", LocalDate.now().plusDays(1), false);
-        testTodo.setUser(testUser);
+        testTodo = new TodoDTO(1, "testuser", "Test Todo", LocalDate.now().plusDays(1), false);
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void listAllTodos_ShouldReturnTodosForCurrentUser() throws Exception {
         // Given
-        List<Todo> todos = Collections.singletonList(testTodo);
-        when(todoRepository.findByUsername("testuser")).thenReturn(todos);
+        List<TodoDTO> todos = Collections.singletonList(testTodo);
+        when(todoQueryService.findTodos("testuser", null, null, null, null, null))
+                .thenReturn(new CursorPage<>(todos, null, false));
         when(todoAssignmentService.getAssignmentsForUser("testuser")).thenReturn(Collections.emptyList());
 
         // When/Then
@@ -75,10 +74,32 @@ public class TodoControllerJpaTest {
                 .andExpect(model().attributeExists("assignedTodos"))
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("data-testid=\"todo-assign-button\"")));
 
-        verify(todoRepository, times(1)).findByUsername("testuser");
+        verify(todoQueryService, times(1)).findTodos("testuser", null, null, null, null, null);
+        verify(todoAssignmentService, times(1)).getActiveAssignees(List.of(1));
         verify(todoAssignmentService, times(1)).getAssignmentsForUser("testuser");
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void listAllTodos_ShouldPassCursorAndFiltersAndExposeNextCursor() throws Exception {
+        // Given
+        List<TodoDTO> todos = Collections.singletonList(testTodo);
+        LocalDate from = LocalDate.now();
+        when(todoQueryService.findTodos("testuser", false, from, null, "abc", null))
+                .thenReturn(new CursorPage<>(todos, "def", true));
+        when(todoAssignmentService.getAssignmentsForUser("testuser")).thenReturn(Collections.emptyList());
+
+        // When/Then
+        mockMvc.perform(get("/list-todos")
+                .param("cursor", "abc")
+                .param("done", "false")
+                .param("from", from.toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("todos", todos))
+                .andExpect(model().attribute("nextCursor", "def"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("data-testid=\"todo-page-next\"")));
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void showNewTodoPage_ShouldDisplayTodoForm() throws Exception {
@@ -92,10 +113,6 @@ public class TodoControllerJpaTest {
     @Test
     @WithMockUser(username = "testuser")
     void addNewTodo_ShouldCreateTodoAndRedirect() throws Exception {
-        // Given
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
-
         // When/Then
         mockMvc.perform(post("/add-todo")
                 .param("description", "New Todo")
@@ -104,31 +121,27 @@ public class TodoControllerJpaTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/list-todos"));
 
-        verify(userRepository, times(1)).findByUsername("testuser");
-        verify(todoRepository, times(1)).save(any(Todo.class));
+        ArgumentCaptor<Todo> todo = ArgumentCaptor.forClass(Todo.class);
+        verify(todoService, times(1)).createTodo(todo.capture(), eq("testuser"));
+        assertEquals("New Todo", todo.getValue().getDescription());
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void deleteTodo_ShouldRemoveTodoAndRedirect() throws Exception {
-        // Given
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
-        doNothing().when(todoRepository).deleteById(1);
-
         // When/Then
         mockMvc.perform(delete("/todos/{id}", 1).with(csrf()))
             .andExpect(status().is3xxRedirection())
             .andExpect(redirectedUrl("/list-todos"));
 
-        verify(todoRepository, times(1)).findById(1);
-        verify(todoRepository, times(1)).deleteById(1);
+        verify(todoService, times(1)).deleteTodo(1, "testuser");
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void showUpdateTodoPage_ShouldDisplayTodoFormWithExistingTodo() throws Exception {
         // Given
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
+        when(todoService.getTodoForUpdate(1, "testuser")).thenReturn(testTodo);
 
         // When/Then
         mockMvc.perform(get("/todos/{id}", 1))
@@ -136,17 +149,12 @@ public class TodoControllerJpaTest {
             .andExpect(view().name("todo"))
             .andExpect(model().attribute("todo", testTodo));
 
-        verify(todoRepository, times(1)).findById(1);
+        verify(todoService, times(1)).getTodoForUpdate(1, "testuser");
     }
 
     @Test
     @WithMockUser(username = "testuser")
     void updateTodo_ShouldUpdateTodoAndRedirect() throws Exception {
-        // Given
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
-        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
-
         // When/Then
         mockMvc.perform(put("/todos/{id}", 1)
             .param("id", "1")
@@ -156,43 +164,18 @@ public class TodoControllerJpaTest {
             .andExpect(status().is3xxRedirection())
             .andExpect(redirectedUrl("/list-todos"));
 
-        verify(userRepository, times(1)).findByUsername("testuser");
-        verify(todoRepository, times(1)).findById(1);
-        verify(todoRepository, times(1)).save(any(Todo.class));
+        ArgumentCaptor<Todo> todo = ArgumentCaptor.forClass(Todo.class);
+        verify(todoService, times(1)).updateTodo(eq(1), todo.capture(), eq("testuser"));
+        assertEquals("Updated Todo", todo.getValue().getDescription());
         verify(todoAssignmentService, never()).completeAssignment(anyInt());
     }
-    
-    @Test
-    @WithMockUser(username = "testuser")
-    void updateTodo_ShouldCompleteAssignmentWhenTodoIsDone() throws Exception {
-        // Given
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
-        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
-
-        // When/Then
-        mockMvc.perform(put("/todos/{id}", 1)
-            .param("id", "1")
-            .param("description", "Updated Todo")
-            .param("targetDate", LocalDate.now().plusDays(1).toString())
-            .param("done", "true")
-            .with(csrf()))
-            .andExpect(status().is3xxRedirection())
-            .andExpect(redirectedUrl("/list-todos"));
-
-        verify(todoRepository, times(1)).save(any(Todo.class));
-        verify(todoAssignmentService, times(1)).completeAssignment(1);
-    }
 
     @Test
     @WithMockUser(username = "testuser")
     void deleteTodo_ShouldThrowExceptionWhenTodoDoesNotBelongToUser() {
         // Given
-        Todo otherUserTodo = new Todo(1, "otheruser", "Other User's Todo", LocalDate.now().plusDays(1), false);
-        User otherUser = new User("otheruser", "password", "other@example.com");
-        otherUserTodo.setUser(otherUser);
-
-        when(todoRepository.findById(1)).thenReturn(Optional.of(otherUserTodo));
+        doThrow(new IllegalStateException("Not authorized to delete this todo"))
+                .when(todoService).deleteTodo(1, "testuser");
 
         // When/Then
         try {
@@ -204,8 +187,5 @@ public class TodoControllerJpaTest {
             assertInstanceOf(IllegalStateException.class, e.getCause());
             assertEquals("Not authorized to delete this todo", e.getCause().getMessage());
         }
-
-        verify(todoRepository, times(1)).findById(1);
-        verify(todoRepository, times(0)).deleteById(anyInt());
     }
 }
@@ -4,18 +4,21 @@ import com.learn.spring.todoapp.config.UserControllerTestConfig;
 import com.learn.spring.todoapp.entity.User;
 import com.learn.spring.todoapp.repository.AuthorityRepository;
 import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.UserSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -39,6 +42,12 @@ public class UserControllerTest {
     @MockBean
     private PasswordEncoder passwordEncoder;
 
+    @MockBean
+    private UserCache userCache;
+
+    @MockBean
+    private UserSearchIndex userSearchIndex;
+
     @BeforeEach
     void setUp() {
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
@@ -80,6 +89,8 @@ public class UserControllerTest {
         verify(passwordEncoder, times(1)).encode("password");
         verify(userRepository, times(1)).save(any(User.class));
         verify(authorityRepository, times(1)).addAuthority("testuser", "ROLE_USER");
+        verify(userCache, times(1)).removeUserFromCache("testuser");
+        verify(userSearchIndex, times(1)).add(eq("testuser"), anyString());
     }
 
     @Test
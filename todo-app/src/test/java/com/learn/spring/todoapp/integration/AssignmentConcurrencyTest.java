@@ -0,0 +1,187 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.AssignmentStatus;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.TodoAssignment;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.NotificationService;
+import com.learn.spring.todoapp.service.TodoAssignmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Races assignment transitions against each other on separate threads and connections. Not transactional, so each
+ * call commits on its own; exactly one of the racing calls may take effect and the others must be refused.
+ * Notifications are mocked so the background notification writer does not outlive the test data.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class AssignmentConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+    private static final String OWNER = "race-owner";
+
+    @Autowired
+    private TodoAssignmentService assignmentService;
+
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    private User owner;
+    private final List<User> assignees = new ArrayList<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(OWNER, "{noop}password", "race-owner@example.com"));
+        for (int i = 0; i < THREADS; i++) {
+            assignees.add(userRepository.save(new User("race-assignee-" + i, "{noop}password", "race-assignee-" + i + "@example.com")));
+        }
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        for (Todo todo : todoRepository.findByUsername(OWNER)) {
+            assignmentRepository.deleteAll(assignmentRepository.findByTodoId(todo.getId()));
+            todoRepository.delete(todo);
+        }
+        assignees.forEach(userRepository::delete);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void concurrentAssignments_ShouldStoreExactlyOneActiveAssignment() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Todo todo = newTodo("Assigned concurrently " + round);
+
+            List<Throwable> outcomes = race(i -> () -> assignmentService.assignTodo(todo.getId(), OWNER, assignees.get(i).getUsername()));
+
+            assertOneWinner(outcomes, "Todo is already assigned");
+            assertEquals(1, assignmentRepository.findByTodoId(todo.getId()).size());
+        }
+    }
+
+    @Test
+    void concurrentResponses_ShouldRecordExactlyOneAnswer() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Todo todo = newTodo("Answered concurrently " + round);
+            Long assignmentId = assignmentService.assignTodo(todo.getId(), OWNER, assignees.get(0).getUsername()).getId();
+
+            // Half the threads accept and half decline the same assignment
+            List<Throwable> outcomes = race(i -> () -> assignmentService.respondToAssignment(assignmentId,
+                    assignees.get(0).getUsername(), i % 2 == 0, LocalDate.now().plusDays(3), "Declined by thread " + i));
+
+            assertOneWinner(outcomes, "Assignment is not in PENDING state");
+            TodoAssignment stored = assignmentRepository.findById(assignmentId).orElseThrow();
+            assertTrue(stored.getStatus() == AssignmentStatus.ACCEPTED || stored.getStatus() == AssignmentStatus.DECLINED);
+            assertTrue(stored.getStatus() == AssignmentStatus.ACCEPTED
+                    ? stored.getDeclineReason() == null && stored.getTentativeCompletionDate() != null
+                    : stored.getDeclineReason() != null && stored.getTentativeCompletionDate() == null,
+                    "The stored answer must come from a single response");
+        }
+    }
+
+    @Test
+    void concurrentCompletions_ShouldCompleteAndNotifyOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Todo todo = newTodo("Completed concurrently " + round);
+            Long assignmentId = assignmentService.assignTodo(todo.getId(), OWNER, assignees.get(0).getUsername()).getId();
+            assignmentService.respondToAssignment(assignmentId, assignees.get(0).getUsername(), true, null, null);
+
+            List<Throwable> outcomes = race(i -> () -> {
+                assignmentService.completeAssignment(todo.getId());
+                return null;
+            });
+
+            outcomes.forEach(outcome -> assertEquals(null, outcome));
+            assertEquals(AssignmentStatus.COMPLETED, assignmentRepository.findById(assignmentId).orElseThrow().getStatus());
+        }
+        verify(notificationService, times(ROUNDS)).createNotification(eq(OWNER), anyString(), anyLong());
+    }
+
+    private Todo newTodo(String description) {
+        Todo todo = new Todo(null, OWNER, description, LocalDate.now().plusDays(1), false);
+        todo.setUser(owner);
+        return todoRepository.save(todo);
+    }
+
+    /**
+     * Runs one call per thread, released together, and returns what each call threw ({@code null} on success).
+     */
+    private List<Throwable> race(IntFunction<Callable<?>> calls) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Callable<?> call = calls.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+
+        List<Throwable> outcomes = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                outcomes.add(null);
+            } catch (ExecutionException e) {
+                outcomes.add(e.getCause());
+            } catch (java.util.concurrent.TimeoutException e) {
+                throw new AssertionError("A racing call did not finish", e);
+            }
+        }
+        return outcomes;
+    }
+
+    private static void assertOneWinner(List<Throwable> outcomes, String refusal) {
+        assertEquals(1, outcomes.stream().filter(outcome -> outcome == null).count(), "Exactly one call should succeed: " + outcomes);
+        for (Throwable outcome : outcomes) {
+            if (outcome != null) {
+                assertInstanceOf(IllegalStateException.class, outcome, () -> "Unexpected failure: " + outcome);
+                assertEquals(refusal, outcome.getMessage());
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.learn.spring.todoapp.entity.User;
 import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
 import com.learn.spring.todoapp.repository.TodoRepository;
 import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.UserSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,6 +51,9 @@ public class AssignmentIntegrationTest {
     @Autowired
     private TodoAssignmentRepository assignmentRepository;
 
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -90,10 +95,36 @@ public class AssignmentIntegrationTest {
     @Test
     @WithMockUser(username = "assigner")
     void testUserSearch() throws Exception {
-        mockMvc.perform(get("/api/users/search")
-                .param("username", "assignee"))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("assignee"));
+        // The users above are never committed, so the index only sees them when added directly
+        userSearchIndex.add(assignee.getUsername(), assignee.getEmail());
+        try {
+            mockMvc.perform(get("/api/users/search")
+                    .param("username", "assignee"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].username").value("assignee"));
+        } finally {
+            userSearchIndex.remove(assignee.getUsername());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "assigner")
+    void userSearch_ShouldAnswerNotModifiedForMatchingETag() throws Exception {
+        userSearchIndex.add(assignee.getUsername(), assignee.getEmail());
+        try {
+            String etag = mockMvc.perform(get("/api/users/search")
+                    .param("username", "assignee"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "max-age=30, private"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/users/search")
+                    .param("username", "assignee")
+                    .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+        } finally {
+            userSearchIndex.remove(assignee.getUsername());
+        }
     }
 
     @Test
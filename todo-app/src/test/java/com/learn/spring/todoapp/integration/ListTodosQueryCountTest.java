@@ -0,0 +1,129 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.AssignmentStatus;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.TodoAssignment;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the list-todos page against N+1 lazy loading: the number of JDBC statements needed to render it
+ * must not grow with the number of todos or assignments shown.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ListTodosQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        owner = userRepository.save(new User("countowner", "{noop}password", "countowner@example.com"));
+        assignee = userRepository.save(new User("countassignee", "{noop}password", "countassignee@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @WithMockUser(username = "countassignee")
+    void listTodos_ShouldUseConstantStatementCountRegardlessOfAssignmentCount() throws Exception {
+        seedAssignments(2);
+        long fewAssignments = countStatementsForListTodos();
+
+        seedAssignments(10);
+        long manyAssignments = countStatementsForListTodos();
+
+        assertEquals(fewAssignments, manyAssignments,
+                "Rendering list-todos should not issue extra statements per assignment");
+        assertTrue(manyAssignments > 0 && manyAssignments <= 3, "Expected at most 3 statements but was " + manyAssignments);
+    }
+
+    private long countStatementsForListTodos() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        mockMvc.perform(get("/list-todos"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Assigned to You")));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedAssignments(int count) {
+        for (int i = 0; i < count; i++) {
+            // A todo assigned to the current user, shown in the "Assigned to You" panel
+            assign(createTodo(owner, "Owner todo " + i), owner, assignee);
+            // A todo owned by the current user and assigned out, shown as "Assigned to ..." in the owned table
+            assign(createTodo(assignee, "Own todo " + i), assignee, owner);
+        }
+    }
+
+    private Todo createTodo(User user, String description) {
+        Todo todo = new Todo(null, user.getUsername(), description, LocalDate.now().plusDays(1), false);
+        todo.setUser(user);
+        return todoRepository.save(todo);
+    }
+
+    private void assign(Todo todo, User assigner, User assignee) {
+        TodoAssignment assignment = new TodoAssignment();
+        assignment.setTodo(todo);
+        assignment.setAssigner(assigner);
+        assignment.setAssignee(assignee);
+        assignment.setStatus(AssignmentStatus.PENDING);
+        assignmentRepository.save(assignment);
+    }
+}
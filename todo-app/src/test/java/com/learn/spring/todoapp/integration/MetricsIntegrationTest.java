@@ -0,0 +1,102 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.AuthorityRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Observability is auto-configured so the Prometheus registry is created as in production.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Transactional
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User("metricsuser", passwordEncoder.encode("password"), "metrics@example.com"));
+        authorityRepository.addAuthority("metricsuser", "ROLE_USER");
+        userRepository.save(new User("metricsadmin", passwordEncoder.encode("password"), "metrics-admin@example.com"));
+        authorityRepository.addAuthority("metricsadmin", "ROLE_ADMIN");
+    }
+
+    @Test
+    void domainOperations_ShouldRecordMeters() throws Exception {
+        double successes = loginCount("success");
+        double failures = loginCount("failure");
+
+        mockMvc.perform(formLogin().user("metricsuser").password("password"));
+        mockMvc.perform(formLogin().user("metricsuser").password("wrongpassword"));
+        mockMvc.perform(get("/list-todos").with(user("metricsuser"))).andExpect(status().isOk());
+
+        assertEquals(successes + 1, loginCount("success"));
+        assertEquals(failures + 1, loginCount("failure"));
+        assertFalse(meterRegistry.get("todo.operations").tag("operation", "list").tag("outcome", "success")
+                .timer().count() == 0);
+        assertNotNull(meterRegistry.get("todo.assignment.transitions").tag("status", "ACCEPTED").counter());
+        assertNotNull(meterRegistry.get("todo.notifications.created").counter());
+        assertNotNull(meterRegistry.get("todo.notifications.read").counter());
+        assertFalse(meterRegistry.get("hikaricp.connections").gauges().isEmpty());
+        assertNotNull(meterRegistry.get("hibernate.sessions.open").functionCounter());
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldRequireAdminAndPublishHistograms() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("metricsuser", "password")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/list-todos").with(user("metricsuser"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("metricsadmin", "password")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("todo_operations_seconds_bucket{")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("todo_logins_total{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total{")));
+    }
+
+    private double loginCount(String outcome) {
+        return meterRegistry.get("todo.logins").tag("outcome", outcome).counter().count();
+    }
+}
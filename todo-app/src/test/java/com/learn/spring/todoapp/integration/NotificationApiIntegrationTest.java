@@ -0,0 +1,121 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.Notification;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.UnreadNotificationCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class NotificationApiIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private User reader;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        reader = userRepository.save(new User("reader", "{noop}password", "reader@example.com"));
+        otherUser = userRepository.save(new User("notreader", "{noop}password", "notreader@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        unreadNotificationCounter.invalidate("reader");
+    }
+
+    @Test
+    @WithMockUser(username = "reader")
+    void getUnreadCount_ShouldReturnCount() throws Exception {
+        saveNotification(reader, "One");
+        saveNotification(reader, "Two");
+        saveNotification(otherUser, "Not mine");
+
+        mockMvc.perform(get("/api/notifications/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "reader")
+    void markSeveralAsRead_ShouldOnlyUpdateOwnListedNotifications() throws Exception {
+        Notification first = saveNotification(reader, "First");
+        Notification second = saveNotification(reader, "Second");
+        saveNotification(reader, "Third");
+        Notification foreign = saveNotification(otherUser, "Foreign");
+
+        mockMvc.perform(post("/api/notifications/read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + first.getId() + ", " + second.getId() + ", " + foreign.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.unreadCount").value(1));
+
+        assertEquals(1, notificationRepository.countByRecipientUsernameAndIsReadFalse("reader"));
+        assertEquals(1, notificationRepository.countByRecipientUsernameAndIsReadFalse("notreader"));
+    }
+
+    @Test
+    @WithMockUser(username = "reader")
+    void markSeveralAsRead_ShouldApplyTimestampWatermark() throws Exception {
+        saveNotification(reader, "Old one");
+        saveNotification(reader, "Old two");
+        LocalDateTime watermark = LocalDateTime.now().plusSeconds(1);
+
+        mockMvc.perform(post("/api/notifications/read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"before\": \"" + watermark + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.unreadCount").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "reader")
+    void markSeveralAsRead_ShouldRejectEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/notifications/read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Notification saveNotification(User recipient, String message) {
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setMessage(message);
+        return notificationRepository.save(notification);
+    }
+}
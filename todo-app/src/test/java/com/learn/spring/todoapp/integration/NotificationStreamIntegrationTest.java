@@ -0,0 +1,175 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.dto.NotificationDTO;
+import com.learn.spring.todoapp.entity.Notification;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.NotificationCreatedEvent;
+import com.learn.spring.todoapp.service.NotificationStreamService;
+import com.learn.spring.todoapp.service.UnreadNotificationCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: stream events are delivered on dispatcher threads, outside any test transaction. For the same
+ * reason MockMvc does not print results, as printing reads the response headers while a dispatcher thread may be
+ * setting them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("test")
+public class NotificationStreamIntegrationTest {
+
+    private static final String USERNAME = "streamuser";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private User recipient;
+
+    @BeforeEach
+    void setUp() {
+        recipient = userRepository.save(new User(USERNAME, "{noop}password", "stream@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll(notificationRepository.findByRecipientUsernameOrderByCreatedAtDesc(USERNAME));
+        userRepository.deleteById(USERNAME);
+        unreadNotificationCounter.invalidate(USERNAME);
+    }
+
+    @Test
+    void stream_ShouldSendUnreadCountOnConnect() throws Exception {
+        saveNotification("Unread one");
+
+        MvcResult result = openStream(null);
+
+        String body = awaitContent(result, "event:unread-count");
+        assertTrue(body.contains("data:1"), body);
+    }
+
+    @Test
+    void stream_ShouldPushNewNotificationsToSubscriber() throws Exception {
+        MvcResult result = openStream(null);
+        awaitContent(result, "event:unread-count");
+
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(4242L);
+        dto.setMessage("Pushed message");
+        notificationStreamService.onNotificationCreated(new NotificationCreatedEvent(USERNAME, dto));
+        notificationStreamService.onNotificationCreated(new NotificationCreatedEvent("someone-else", dto));
+
+        String body = awaitContent(result, "Pushed message");
+        assertTrue(body.contains("id:4242"), body);
+        assertTrue(body.contains("event:notification"), body);
+        assertEquals(body.indexOf("Pushed message"), body.lastIndexOf("Pushed message"), body);
+    }
+
+    @Test
+    void stream_ShouldReplayNotificationsAfterLastEventId() throws Exception {
+        Notification seen = saveNotification("Already seen");
+        Notification missed = saveNotification("Missed while offline");
+
+        MvcResult result = openStream(seen.getId());
+
+        String body = awaitContent(result, "event:unread-count");
+        assertTrue(body.contains("id:" + missed.getId()), body);
+        assertTrue(body.contains("Missed while offline"), body);
+        assertFalse(body.contains("Already seen"), body);
+    }
+
+    @Test
+    void stream_ShouldNotRepeatReplayedNotificationWhenItIsAlsoPushed() throws Exception {
+        Notification seen = saveNotification("Already seen");
+        Notification missed = saveNotification("Committed during reconnect");
+
+        MvcResult result = openStream(seen.getId());
+        awaitContent(result, "event:unread-count");
+
+        // The same notification arriving live after the replay already sent it
+        notificationStreamService.onNotificationCreated(new NotificationCreatedEvent(USERNAME, NotificationDTO.from(missed)));
+        NotificationDTO later = new NotificationDTO();
+        later.setId(missed.getId() + 1000);
+        later.setMessage("Later message");
+        notificationStreamService.onNotificationCreated(new NotificationCreatedEvent(USERNAME, later));
+
+        String body = awaitContent(result, "Later message");
+        assertEquals(body.indexOf("Committed during reconnect"), body.lastIndexOf("Committed during reconnect"), body);
+        assertTrue(body.indexOf("Committed during reconnect") < body.indexOf("event:unread-count"), body);
+    }
+
+    @Test
+    void stream_ShouldAskClientToResyncWhenReplayIsTruncated() throws Exception {
+        Notification seen = saveNotification("Already seen");
+        for (int i = 0; i < 100; i++) {
+            saveNotification("Missed " + i);
+        }
+
+        MvcResult result = openStream(seen.getId());
+
+        String body = awaitContent(result, "event:unread-count");
+        assertTrue(body.contains("event:resync"), body);
+        assertTrue(body.contains("Missed 0"), body);
+        assertFalse(body.contains("Missed 99"), body);
+        assertTrue(body.indexOf("event:resync") < body.indexOf("event:unread-count"), body);
+    }
+
+    private MvcResult openStream(Long lastEventId) throws Exception {
+        var request = get("/api/notifications/stream").with(user(USERNAME));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private Notification saveNotification(String message) {
+        Notification notification = new Notification();
+        notification.setRecipient(recipient);
+        notification.setMessage(message);
+        return notificationRepository.save(notification);
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), "Expected stream to contain '" + expected + "' but was: " + body);
+        return body;
+    }
+}
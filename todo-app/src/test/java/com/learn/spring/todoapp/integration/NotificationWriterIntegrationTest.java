@@ -0,0 +1,108 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.Notification;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.NotificationWriter;
+import com.learn.spring.todoapp.service.TodoAssignmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Not transactional: notifications are only written after the assignment transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class NotificationWriterIntegrationTest {
+
+    private static final String ASSIGNER = "writer-assigner";
+    private static final String ASSIGNEE = "writer-assignee";
+
+    @Autowired
+    private TodoAssignmentService assignmentService;
+
+    @Autowired
+    private NotificationWriter notificationWriter;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Todo todo;
+
+    @BeforeEach
+    void setUp() {
+        User assigner = userRepository.save(new User(ASSIGNER, "{noop}password", "writer-assigner@example.com"));
+        userRepository.save(new User(ASSIGNEE, "{noop}password", "writer-assignee@example.com"));
+        todo = new Todo();
+        todo.setDescription("Written in the background");
+        todo.setTargetDate(LocalDate.now().plusDays(1));
+        todo.setUser(assigner);
+        todo = todoRepository.save(todo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll(notificationRepository.findByRecipientUsernameOrderByCreatedAtDesc(ASSIGNEE));
+        assignmentRepository.deleteAll(assignmentRepository.findByTodoId(todo.getId()));
+        todoRepository.deleteById(todo.getId());
+        userRepository.deleteById(ASSIGNEE);
+        userRepository.deleteById(ASSIGNER);
+    }
+
+    @Test
+    void assignTodo_ShouldStoreNotificationAfterCommit() {
+        assignmentService.assignTodo(todo.getId(), ASSIGNER, ASSIGNEE);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !unreadFor(ASSIGNEE).isEmpty());
+        List<Notification> notifications = unreadFor(ASSIGNEE);
+        assertEquals(1, notifications.size());
+        assertTrue(notifications.get(0).getMessage().contains("has assigned you a new todo"));
+        assertEquals(Long.valueOf(todo.getId()), notifications.get(0).getRelatedTodoId());
+    }
+
+    @Test
+    void assignTodo_ShouldNotQueueNotificationWhenRolledBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assignmentService.assignTodo(todo.getId(), ASSIGNER, ASSIGNEE);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, notificationWriter.getQueueSize());
+        assertFalse(assignmentService.getActiveAssignees(List.of(todo.getId())).containsKey(todo.getId()));
+        assertTrue(unreadFor(ASSIGNEE).isEmpty());
+    }
+
+    private List<Notification> unreadFor(String username) {
+        return notificationRepository.findByRecipientUsernameAndIsReadFalseOrderByCreatedAtDesc(username);
+    }
+}
@@ -0,0 +1,94 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: with {@code spring.jpa.open-in-view=false} each request must load everything it renders
+ * inside a service transaction, which a test transaction spanning the request would hide.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OpenSessionInViewDisabledTest {
+
+    private static final String USERNAME = "osiv-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(USERNAME, "{noop}password", "osiv-user@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoRepository.deleteAll(todoRepository.findByUsername(USERNAME));
+        userRepository.deleteById(USERNAME);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void todoPages_ShouldRenderAndSaveWithoutOpenSession() throws Exception {
+        mockMvc.perform(post("/add-todo")
+                        .param("description", "Detached Todo")
+                        .param("targetDate", LocalDate.now().plusDays(1).toString())
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        List<Todo> todos = todoRepository.findByUsername(USERNAME);
+        assertEquals(1, todos.size());
+        Integer id = todos.get(0).getId();
+
+        mockMvc.perform(get("/list-todos"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Detached Todo")));
+
+        mockMvc.perform(get("/todos/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Detached Todo")));
+
+        mockMvc.perform(put("/todos/{id}", id)
+                        .param("id", id.toString())
+                        .param("description", "Updated Detached Todo")
+                        .param("targetDate", LocalDate.now().plusDays(2).toString())
+                        .param("done", "true")
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        Todo updated = todoRepository.findById(id).orElseThrow();
+        assertEquals("Updated Detached Todo", updated.getDescription());
+        assertEquals(USERNAME, updated.getUsername());
+        assertTrue(updated.isDone());
+    }
+}
@@ -0,0 +1,164 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.AssignmentStatus;
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.TodoQueryService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every repository query against a SQLite database built by the Flyway migrations and checks its
+ * {@code EXPLAIN QUERY PLAN}: a query that falls back to a full table scan or an extra sort step fails here.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=com.learn.spring.todoapp.config.SqliteDialect",
+        "spring.jpa.properties.hibernate.jdbc.use_get_generated_keys=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.learn.spring.todoapp.integration.QueryPlanIntegrationTest$StatementRecorder"
+})
+@ActiveProfiles("test")
+@Transactional
+public class QueryPlanIntegrationTest {
+
+    private static final String USERNAME = "planuser";
+
+    @DynamicPropertySource
+    static void sqliteDatabase(DynamicPropertyRegistry registry) throws IOException {
+        String file = Files.createTempDirectory("query-plan").resolve("todos.db").toString();
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + file);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoQueryService todoQueryService;
+
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        StatementRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void todoQueries_ShouldUseIndexes() {
+        assertUsesIndexes(() -> todoRepository.findByUsername(USERNAME));
+        assertUsesIndexes(() -> todoRepository.findById(1));
+        assertUsesIndexes(() -> todoRepository.findViewById(1));
+        assertUsesIndexes(() -> todoRepository.findAccessById(1));
+        assertUsesIndexes(() -> todoQueryService.findTodos(USERNAME, null, null, null, null, 10));
+        assertUsesIndexes(() -> todoQueryService.findTodos(USERNAME, false, LocalDate.now(), LocalDate.now().plusDays(7),
+                null, 10));
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((LocalDate.now() + ":1").getBytes(StandardCharsets.UTF_8));
+        assertUsesIndexes(() -> todoQueryService.findTodos(USERNAME, null, null, null, cursor, 10));
+    }
+
+    @Test
+    void assignmentQueries_ShouldUseIndexes() {
+        assertUsesIndexes(() -> assignmentRepository.findByAssigneeUsername(USERNAME));
+        assertUsesIndexes(() -> assignmentRepository.findByAssignerUsername(USERNAME));
+        assertUsesIndexes(() -> assignmentRepository.findByTodoId(1));
+        assertUsesIndexes(() -> assignmentRepository.findWithDetailsById(1L));
+        assertUsesIndexes(() -> assignmentRepository.findAssignedTodosByAssigneeUsername(USERNAME));
+        assertUsesIndexes(() -> assignmentRepository.findAssigneesByTodoIdInAndStatusIn(
+                List.of(1, 2, 3), List.of(AssignmentStatus.PENDING, AssignmentStatus.ACCEPTED)));
+        assertUsesIndexes(() -> assignmentRepository.findSummaryByTodoIdAndStatus(1, AssignmentStatus.ACCEPTED));
+        assertUsesIndexes(() -> assignmentRepository.updateStatus(1L, AssignmentStatus.ACCEPTED, AssignmentStatus.COMPLETED));
+        assertUsesIndexes(() -> assignmentRepository.respond(1L, USERNAME, AssignmentStatus.ACCEPTED, LocalDateTime.now(),
+                LocalDate.now(), null));
+    }
+
+    @Test
+    void notificationQueries_ShouldUseIndexes() {
+        assertUsesIndexes(() -> notificationRepository.findByRecipientUsernameOrderByCreatedAtDesc(USERNAME));
+        assertUsesIndexes(() -> notificationRepository.findByRecipientUsernameAndIsReadFalseOrderByCreatedAtDesc(USERNAME));
+        assertUsesIndexes(() -> notificationRepository.countByRecipientUsernameAndIsReadFalse(USERNAME));
+        assertUsesIndexes(() -> notificationRepository.findByRecipientUsernameAndIdGreaterThanOrderByIdAsc(
+                USERNAME, 0L, Limit.of(10)));
+        assertUsesIndexes(() -> notificationRepository.markReadByIds(USERNAME, List.of(1L, 2L)));
+        assertUsesIndexes(() -> notificationRepository.markReadCreatedAtOrBefore(USERNAME, LocalDateTime.now()));
+    }
+
+    @Test
+    void userQueries_ShouldUseIndexes() {
+        assertUsesIndexes(() -> userRepository.findByUsername(USERNAME));
+        assertUsesIndexes(() -> userRepository.existsByUsername(USERNAME));
+        assertUsesIndexes(() -> userRepository.findByEmail("plan@example.com"));
+        assertUsesIndexes(() -> userRepository.existsByEmail("plan@example.com"));
+    }
+
+    private void assertUsesIndexes(Runnable query) {
+        StatementRecorder.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(StatementRecorder.STATEMENTS);
+        assertFalse(statements.isEmpty(), "The query did not reach the database");
+
+        for (String sql : statements) {
+            List<String> plan = jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql, (rs, rowNum) -> rs.getString("detail"));
+            for (String step : plan) {
+                assertFalse(isFullScan(step), "Full table scan '" + step + "' in: " + sql + "\nPlan: " + plan);
+                assertFalse(step.contains("TEMP B-TREE"), "Sort without an index '" + step + "' in: " + sql + "\nPlan: " + plan);
+            }
+        }
+    }
+
+    /**
+     * SQLite reports index and primary key lookups as SEARCH; SCAN walks a whole table or a whole index.
+     */
+    private static boolean isFullScan(String step) {
+        return step.startsWith("SCAN ");
+    }
+
+    /**
+     * Records the SQL Hibernate sends so that its plan can be inspected.
+     */
+    public static class StatementRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
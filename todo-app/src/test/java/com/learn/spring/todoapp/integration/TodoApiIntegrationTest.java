@@ -5,6 +5,7 @@ import com.learn.spring.todoapp.entity.User;
 import com.learn.spring.todoapp.repository.AuthorityRepository;
 import com.learn.spring.todoapp.repository.TodoRepository;
 import com.learn.spring.todoapp.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -159,4 +160,116 @@ public class TodoApiIntegrationTest {
             assertEquals("Not authorized to update this todo", e.getCause().getMessage());
         }
     }
+
+    @Test
+    @WithMockUser(username = "integrationuser")
+    void apiListTodos_ShouldPageThroughTodosInTargetDateOrder() throws Exception {
+        User user = userRepository.findByUsername("integrationuser").orElseThrow();
+        for (int i = 2; i <= 5; i++) {
+            Todo todo = new Todo(null, "integrationuser", "Paged Todo " + i, LocalDate.now().plusDays(i), false);
+            todo.setUser(user);
+            todoRepository.save(todo);
+        }
+
+        String body = mockMvc.perform(get("/api/todos").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].description").value("Integration Test Todo"))
+                .andExpect(jsonPath("$.items[2].description").value("Paged Todo 3"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/api/todos").param("size", "3").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].description").value("Paged Todo 4"))
+                .andExpect(jsonPath("$.items[1].description").value("Paged Todo 5"))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "integrationuser")
+    void apiListTodos_ShouldApplyDoneAndDateFilters() throws Exception {
+        User user = userRepository.findByUsername("integrationuser").orElseThrow();
+        Todo doneTodo = new Todo(null, "integrationuser", "Done Todo", LocalDate.now().plusDays(3), true);
+        doneTodo.setUser(user);
+        todoRepository.save(doneTodo);
+        Todo laterTodo = new Todo(null, "integrationuser", "Later Todo", LocalDate.now().plusDays(30), false);
+        laterTodo.setUser(user);
+        todoRepository.save(laterTodo);
+
+        mockMvc.perform(get("/api/todos").param("done", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].description").value("Done Todo"));
+
+        mockMvc.perform(get("/api/todos")
+                        .param("done", "false")
+                        .param("from", LocalDate.now().plusDays(2).toString())
+                        .param("to", LocalDate.now().plusDays(60).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].description").value("Later Todo"));
+    }
+
+    @Test
+    @WithMockUser(username = "integrationuser")
+    void apiListTodos_ShouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/todos").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "integrationuser")
+    void apiImportTodos_ShouldStoreValidNdjsonRowsAndReportInvalidOnes() throws Exception {
+        String body = String.join("\n",
+                "{\"description\":\"Imported one\",\"targetDate\":\"2030-01-01\",\"done\":true}",
+                "{\"description\":\"Imported two\",\"targetDate\":\"2030-01-02\"}",
+                "{\"description\":\"\",\"targetDate\":\"2030-01-03\"}",
+                "not json",
+                "{\"description\":\"Someone else's\",\"targetDate\":\"2030-01-04\",\"username\":\"admin\"}");
+
+        mockMvc.perform(post("/api/todos/import").contentType("application/x-ndjson").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.resumeFromLine").value(5))
+                .andExpect(jsonPath("$.errors[0]").value("line 3: description is required"));
+
+        assertEquals(3, todoRepository.findByUsername("integrationuser").size());
+        assertTrue(todoRepository.findByUsername("integrationuser").stream()
+                .anyMatch(todo -> todo.getDescription().equals("Imported one") && todo.isDone()
+                        && todo.getTargetDate().equals(LocalDate.of(2030, 1, 1))));
+    }
+
+    @Test
+    @WithMockUser(username = "integrationuser")
+    void apiImportTodos_ShouldParseCsvAndSkipLinesCommittedBefore() throws Exception {
+        String body = String.join("\n",
+                "description,target_date,done",
+                "Already imported,2030-02-01,false",
+                "\"Quoted, with \"\"comma\"\"\",2030-02-02,true",
+                "Bad date,02/03/2030,false");
+
+        mockMvc.perform(post("/api/todos/import").param("resumeFromLine", "2").contentType("text/csv").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.linesRead").value(4));
+
+        assertTrue(todoRepository.findByUsername("integrationuser").stream()
+                .anyMatch(todo -> todo.getDescription().equals("Quoted, with \"comma\"") && todo.isDone()));
+        assertFalse(todoRepository.findByUsername("integrationuser").stream()
+                .anyMatch(todo -> todo.getDescription().equals("Already imported")));
+    }
+
+    @Test
+    @WithMockUser(username = "integrationuser")
+    void apiImportTodos_ShouldRejectCsvWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(post("/api/todos/import").contentType("text/csv").content("title,due\nx,2030-01-01"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,162 @@
+package com.learn.spring.todoapp.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learn.spring.todoapp.entity.AssignmentStatus;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.TodoAssignment;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: the export runs on an async request thread in its own read-only transaction.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TodoExportIntegrationTest {
+
+    private static final String OWNER = "exportuser";
+    private static final String ASSIGNEE = "exportassignee";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(OWNER, "{noop}password", "export@example.com"));
+        User assignee = userRepository.save(new User(ASSIGNEE, "{noop}password", "exportassignee@example.com"));
+        Todo assigned = saveTodo(owner, "Assigned, \"quoted\" todo", LocalDate.of(2030, 1, 1));
+        saveTodo(owner, "Unassigned todo", LocalDate.of(2030, 1, 2));
+
+        TodoAssignment assignment = new TodoAssignment();
+        assignment.setTodo(assigned);
+        assignment.setAssigner(owner);
+        assignment.setAssignee(assignee);
+        assignment.setStatus(AssignmentStatus.PENDING);
+        assignmentRepository.save(assignment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Todo> todos = todoRepository.findByUsername(OWNER);
+        todos.forEach(todo -> assignmentRepository.deleteAll(assignmentRepository.findByTodoId(todo.getId())));
+        todoRepository.deleteAll(todos);
+        userRepository.deleteById(ASSIGNEE);
+        userRepository.deleteById(OWNER);
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void export_ShouldStreamOneNdjsonObjectPerTodoWithNestedAssignments() throws Exception {
+        MvcResult result = perform(get("/api/todos/export"));
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Assigned, \"quoted\" todo", first.get("description").asText());
+        assertEquals("2030-01-01", first.get("targetDate").asText());
+        assertEquals(ASSIGNEE, first.get("assignments").get(0).get("assignee").asText());
+        assertEquals("PENDING", first.get("assignments").get(0).get("status").asText());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("assignments").size());
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void export_ShouldGzipCsvWhenAccepted() throws Exception {
+        MvcResult result = perform(get("/api/todos/export").param("format", "csv").header("Accept-Encoding", "gzip, deflate"));
+
+        assertEquals("gzip", result.getResponse().getHeader("Content-Encoding"));
+        String csv;
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,username,description,targetDate,done,assignmentId,assigner,assignee,status,tentativeCompletionDate", lines[0]);
+        assertTrue(lines[1].contains(",\"Assigned, \"\"quoted\"\" todo\",2030-01-01,false,"));
+        assertTrue(lines[2].endsWith("Unassigned todo,2030-01-02,false,,,,,"));
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void export_ShouldNotGzipWhenClientRefusesIt() throws Exception {
+        MvcResult result = perform(get("/api/todos/export").param("format", "csv").header("Accept-Encoding", "gzip;q=0, x-gzip"));
+
+        assertNull(result.getResponse().getHeader("Content-Encoding"));
+        assertTrue(result.getResponse().getContentAsString().startsWith("id,username,description,"));
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void exportAll_ShouldBeForbiddenForRegularUsers() throws Exception {
+        mockMvc.perform(get("/api/todos/export").param("all", "true"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void export_ShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/todos/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MvcResult perform(RequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn();
+    }
+
+    private Todo saveTodo(User owner, String description, LocalDate targetDate) {
+        Todo todo = new Todo();
+        todo.setDescription(description);
+        todo.setTargetDate(targetDate);
+        todo.setUser(owner);
+        return todoRepository.save(todo);
+    }
+}
@@ -0,0 +1,189 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the todo write paths against loading users: the statements needed to create or update a todo must not
+ * grow with the number of todos the owner already has, linking a todo to its owner never loads the inverse
+ * {@code User.todos} collection, owners, assigners and assignees are set as references without reading a
+ * user row, and repeated access checks on a todo are answered from memory.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class TodoWriteQueryCountTest {
+
+    private static final String USERNAME = "writecountowner";
+    private static final String ASSIGNEE = "writecountassignee";
+    private static final String TODOS_ROLE = User.class.getName() + ".todos";
+    private static final String USER_ENTITY = User.class.getName();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        userRepository.save(new User(USERNAME, "{noop}password", "writecountowner@example.com"));
+        userRepository.save(new User(ASSIGNEE, "{noop}password", "writecountassignee@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void createTodo_ShouldUseConstantStatementCountRegardlessOfOwnedTodos() throws Exception {
+        seedTodos(2);
+        // Like the form, which sends its hidden id field as 0 for a new todo
+        long fewTodos = countStatements(post("/add-todo")
+                .param("id", "0")
+                .param("description", "Created with few todos")
+                .param("targetDate", LocalDate.now().plusDays(1).toString())
+                .with(csrf()));
+
+        seedTodos(50);
+        long manyTodos = countStatements(post("/add-todo")
+                .param("id", "0")
+                .param("description", "Created with many todos")
+                .param("targetDate", LocalDate.now().plusDays(1).toString())
+                .with(csrf()));
+
+        assertEquals(fewTodos, manyTodos, "Creating a todo should not issue extra statements per owned todo");
+        assertEquals(1, manyTodos, "Creating a todo should only INSERT it");
+        assertEquals(0, statistics.getCollectionStatistics(TODOS_ROLE).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(USER_ENTITY).getLoadCount());
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void updateTodo_ShouldUseConstantStatementCountRegardlessOfOwnedTodos() throws Exception {
+        Todo todo = seedTodos(2);
+        long uncached = countStatements(update(todo, "Updated before access is cached"));
+        long fewTodos = countStatements(update(todo, "Updated with few todos"));
+
+        seedTodos(50);
+        long manyTodos = countStatements(update(todo, "Updated with many todos"));
+
+        assertEquals(fewTodos, manyTodos, "Updating a todo should not issue extra statements per owned todo");
+        assertEquals(uncached - 1, manyTodos, "The access check should be served from the cache");
+        assertEquals(2, manyTodos, "Updating a todo should only SELECT and UPDATE it");
+        assertEquals(0, statistics.getCollectionStatistics(TODOS_ROLE).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(USER_ENTITY).getLoadCount());
+        assertEquals("Updated with many todos", todoRepository.findById(todo.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME)
+    void assignTodo_ShouldNotLoadAssignerOrAssignee() throws Exception {
+        Todo todo = seedTodos(2);
+
+        countStatements(post("/todos/{id}/assign", todo.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"assigneeUsername\": \"" + ASSIGNEE + "\"}")
+                .with(csrf()), status().isOk());
+
+        assertEquals(0, statistics.getEntityStatistics(USER_ENTITY).getLoadCount());
+        assertEquals(ASSIGNEE, assignmentRepository.findByTodoId(todo.getId()).get(0).getAssignee().getUsername());
+    }
+
+    @Test
+    void setUser_ShouldNotLoadOwnersTodosWhenRelinkingLoadedTodo() {
+        Todo todo = seedTodos(50);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Todo loaded = todoRepository.findById(todo.getId()).orElseThrow();
+        loaded.setUser(userRepository.findByUsername(USERNAME).orElseThrow());
+        entityManager.flush();
+
+        assertEquals(0, statistics.getCollectionStatistics(TODOS_ROLE).getLoadCount());
+        assertEquals(2, statistics.getEntityLoadCount(), "Only the todo and its owner should be loaded");
+    }
+
+    private long countStatements(RequestBuilder request) throws Exception {
+        return countStatements(request, status().is3xxRedirection());
+    }
+
+    private long countStatements(RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(expectedStatus);
+        // The test transaction never commits, so flush to count the UPDATE as well
+        entityManager.flush();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private RequestBuilder update(Todo todo, String description) {
+        return put("/todos/{id}", todo.getId())
+                .param("description", description)
+                .param("targetDate", LocalDate.now().plusDays(2).toString())
+                .with(csrf());
+    }
+
+    private Todo seedTodos(int count) {
+        User user = userRepository.findByUsername(USERNAME).orElseThrow();
+        Todo last = null;
+        for (int i = 0; i < count; i++) {
+            last = new Todo(null, USERNAME, "Owned todo " + i, LocalDate.now().plusDays(i), false);
+            last.setUser(user);
+            last = todoRepository.save(last);
+        }
+        return last;
+    }
+}
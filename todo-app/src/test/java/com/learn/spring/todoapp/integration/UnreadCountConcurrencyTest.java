@@ -0,0 +1,112 @@
+package com.learn.spring.todoapp.integration;
+
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import com.learn.spring.todoapp.service.NotificationService;
+import com.learn.spring.todoapp.service.NotificationWriter;
+import com.learn.spring.todoapp.service.UnreadNotificationCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seeds a user's unread counter over and over while notifications for that user are created and marked read on
+ * other threads. Not transactional, so every write commits and reaches the counter through its events. Once the
+ * writes are done the counter has to agree with the database; a seed kept on top of a write it already included,
+ * or missing one applied after it, stays wrong until the counter expires.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class UnreadCountConcurrencyTest {
+
+    private static final String USERNAME = "unread-race";
+    private static final int ROUNDS = 20;
+    private static final int NOTIFICATIONS = 50;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    private NotificationWriter notificationWriter;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(USERNAME, "{noop}password", "unread-race@example.com"));
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        notificationRepository.deleteAll(notificationRepository.findByRecipientUsernameOrderByCreatedAtDesc(USERNAME));
+        userRepository.deleteById(USERNAME);
+        unreadNotificationCounter.invalidate(USERNAME);
+    }
+
+    @Test
+    void seedingWhileNotificationsChange_ShouldKeepCountInStepWithDatabase() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            unreadNotificationCounter.invalidate(USERNAME);
+            int created = (round + 1) * NOTIFICATIONS;
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> creator = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < NOTIFICATIONS; i++) {
+                    notificationService.createNotification(USERNAME, "Created while seeding " + i, null);
+                }
+                return null;
+            });
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < NOTIFICATIONS / 10; i++) {
+                    notificationService.markAllAsRead(USERNAME, LocalDateTime.now());
+                    Thread.sleep(1);
+                }
+                return null;
+            });
+            start.countDown();
+
+            for (int reads = 0; !creator.isDone() || !reader.isDone() || notificationWriter.getQueueSize() > 0; reads++) {
+                unreadNotificationCounter.get(USERNAME);
+                if (reads % 20 == 0) {
+                    unreadNotificationCounter.invalidate(USERNAME);
+                }
+            }
+            creator.get(30, TimeUnit.SECONDS);
+            reader.get(30, TimeUnit.SECONDS);
+            await().atMost(Duration.ofSeconds(5)).until(() ->
+                    notificationRepository.findByRecipientUsernameOrderByCreatedAtDesc(USERNAME).size() == created);
+
+            // The writer applies its last events right after committing them, so allow it a moment to catch up
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertEquals(
+                    notificationRepository.countByRecipientUsernameAndIsReadFalse(USERNAME),
+                    unreadNotificationCounter.get(USERNAME)));
+        }
+    }
+}
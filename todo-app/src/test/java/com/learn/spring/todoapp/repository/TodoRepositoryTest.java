@@ -1,7 +1,9 @@
 package com.learn.spring.todoapp.repository;
 
 import com.learn.spring.todoapp.config.TestConfig;
+import com.learn.spring.todoapp.entity.AssignmentStatus;
 import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.TodoAssignment;
 import com.learn.spring.todoapp.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,9 @@ public class TodoRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TodoAssignmentRepository assignmentRepository;
+
     private User testUser;
     private Todo testTodo;
 
@@ -114,4 +119,39 @@ public class TodoRepositoryTest {
         assertEquals("Updated Description", foundTodo.get().getDescription());
         assertTrue(foundTodo.get().isDone());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAccessById_ShouldReturnOwnerWithAcceptedAssignees() {
+        // Given
+        User assignee = userRepository.save(new User("assignee", "password", "assignee@example.com"));
+        User stranger = userRepository.save(new User("stranger", "password", "stranger@example.com"));
+        Todo unassigned = new Todo(null, "testuser", "Unassigned Todo", LocalDate.now().plusDays(1), false);
+        unassigned.setUser(testUser);
+        todoRepository.save(unassigned);
+        assign(assignee, AssignmentStatus.DECLINED);
+        assign(assignee, AssignmentStatus.ACCEPTED);
+        assign(stranger, AssignmentStatus.COMPLETED);
+
+        // When
+        List<TodoRepository.TodoAccess> assigned = todoRepository.findAccessById(testTodo.getId());
+        List<TodoRepository.TodoAccess> notAssigned = todoRepository.findAccessById(unassigned.getId());
+
+        // Then
+        assertEquals(1, assigned.size(), "Only the ACCEPTED assignment grants access");
+        assertEquals("testuser", assigned.getFirst().getOwnerUsername());
+        assertEquals("assignee", assigned.getFirst().getAcceptedAssigneeUsername());
+        assertEquals(1, notAssigned.size());
+        assertEquals("testuser", notAssigned.getFirst().getOwnerUsername());
+        assertNull(notAssigned.getFirst().getAcceptedAssigneeUsername());
+        assertTrue(todoRepository.findAccessById(unassigned.getId() + 1).isEmpty());
+    }
+
+    private void assign(User assignee, AssignmentStatus status) {
+        TodoAssignment assignment = new TodoAssignment();
+        assignment.setTodo(testTodo);
+        assignment.setAssigner(testUser);
+        assignment.setAssignee(assignee);
+        assignment.setStatus(status);
+        assignmentRepository.save(assignment);
+    }
+}
@@ -0,0 +1,88 @@
+package com.learn.spring.todoapp.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedUserCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private BoundedUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BoundedUserCache(10, 60_000, now::get);
+    }
+
+    @Test
+    void getUserFromCache_ShouldCountHitsAndMisses() {
+        // Given
+        UserDetails user = user("testuser");
+
+        // When
+        assertNull(cache.getUserFromCache("testuser"));
+        cache.putUserInCache(user);
+
+        // Then
+        assertSame(user, cache.getUserFromCache("testuser"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void getUserFromCache_ShouldExpireEntriesAfterTtl() {
+        // Given
+        cache.putUserInCache(user("testuser"));
+
+        // When
+        now.addAndGet(60_000);
+
+        // Then
+        assertNull(cache.getUserFromCache("testuser"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void removeUserFromCache_ShouldEvictUser() {
+        // Given
+        cache.putUserInCache(user("testuser"));
+
+        // When
+        cache.removeUserFromCache("testuser");
+
+        // Then
+        assertNull(cache.getUserFromCache("testuser"));
+    }
+
+    @Test
+    void putUserInCache_ShouldEvictLeastRecentlyUsedWhenFull() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            now.incrementAndGet();
+            cache.putUserInCache(user("user" + i));
+        }
+        now.incrementAndGet();
+        cache.getUserFromCache("user0");
+
+        // When
+        now.incrementAndGet();
+        cache.putUserInCache(user("user10"));
+
+        // Then
+        assertEquals(10, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.getUserFromCache("user0"));
+        assertNotNull(cache.getUserFromCache("user10"));
+        assertNull(cache.getUserFromCache("user1"));
+        assertNotNull(cache.getUserFromCache("user2"));
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("password").roles("USER").build();
+    }
+}
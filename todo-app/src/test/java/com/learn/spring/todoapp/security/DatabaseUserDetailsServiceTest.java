@@ -16,6 +16,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.util.Collection;
 import java.util.List;
 
@@ -36,6 +38,9 @@ public class DatabaseUserDetailsServiceTest {
     @Autowired
     private AuthorityRepository authorityRepository;
 
+    @Autowired
+    private BoundedUserCache userCache;
+
     private User testUser;
 
     @BeforeEach
@@ -117,4 +122,53 @@ public class DatabaseUserDetailsServiceTest {
         // Then
         assertFalse(userDetails.isEnabled());
     }
+
+    @Test
+    void loadUserByUsername_ShouldServeRepeatedLookupsFromCache() {
+        // Given
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        long hits = userCache.getHitCount();
+
+        // When
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        assertEquals(hits + 1, userCache.getHitCount());
+        assertNotSame(first, second);
+        assertEquals("password", second.getPassword());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReloadAfterAuthorityChange() {
+        // Given
+        userDetailsService.loadUserByUsername("testuser");
+
+        // When
+        authorityRepository.addAuthority("testuser", "ROLE_ADMIN");
+        UserDetails userDetails = userDetailsService.loadUserByUsername("testuser");
+
+        // Then
+        assertEquals(1, userDetails.getAuthorities().size());
+        assertTrue(userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+
+    @Test
+    void authenticationPath_ShouldNotWriteToStdout() {
+        // Given
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true));
+
+        // When
+        try {
+            authorityRepository.addAuthority("testuser", "ROLE_TEST");
+            authorityRepository.findAuthoritiesByUsername("testuser");
+            userDetailsService.loadUserByUsername("testuser");
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        // Then
+        assertEquals("", captured.toString());
+    }
 }
@@ -3,16 +3,21 @@ package com.learn.spring.todoapp.service;
 import com.learn.spring.todoapp.entity.Notification;
 import com.learn.spring.todoapp.entity.User;
 import com.learn.spring.todoapp.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,6 +29,15 @@ public class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -41,15 +55,19 @@ public class NotificationServiceTest {
     }
 
     @Test
-    void createNotification_ShouldSaveNotification() {
-        // Given
-        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
-
+    void createNotification_ShouldRequestNotificationWithoutWriting() {
         // When
         notificationService.createNotification(user, "Test Message", 1L);
 
         // Then
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        ArgumentCaptor<NotificationRequestedEvent> captor = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals("testuser", captor.getValue().notification().recipientUsername());
+        assertEquals("Test Message", captor.getValue().notification().message());
+        assertEquals(1L, captor.getValue().notification().relatedTodoId());
+        assertNotNull(captor.getValue().notification().createdAt());
+        verifyNoInteractions(notificationRepository);
+        assertEquals(1.0, meterRegistry.get("todo.notifications.created").counter().count());
     }
 
     @Test
@@ -68,15 +86,63 @@ public class NotificationServiceTest {
     }
 
     @Test
-    void markAsRead_ShouldUpdateStatus() {
+    void markAsRead_ShouldIssueSingleBulkUpdateAndPublishReadCount() {
         // Given
-        when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
-        
+        when(notificationRepository.markReadByIds("testuser", List.of(1L, 2L, 3L))).thenReturn(2);
+
         // When
-        notificationService.markAsRead(1L);
+        int updated = notificationService.markAsRead("testuser", List.of(1L, 2L, 3L));
 
         // Then
-        assertTrue(notification.isRead());
-        verify(notificationRepository, times(1)).save(notification);
+        assertEquals(2, updated);
+        verify(notificationRepository, never()).findById(any());
+        verify(notificationRepository, never()).save(any());
+        verify(eventPublisher, times(1)).publishEvent(new NotificationsReadEvent("testuser", 2));
+        assertEquals(2.0, meterRegistry.get("todo.notifications.read").counter().count());
+    }
+
+    @Test
+    void markAsRead_ShouldNotPublishEventWhenNothingChanged() {
+        // Given
+        when(notificationRepository.markReadByIds("testuser", List.of(1L))).thenReturn(0);
+
+        // When
+        notificationService.markAsRead("testuser", List.of(1L));
+
+        // Then
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void markAsRead_ShouldRejectOversizedBatch() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, NotificationService.MAX_IDS_PER_REQUEST + 1)
+                .boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> notificationService.markAsRead("testuser", ids));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void markAllAsRead_ShouldUseWatermarkUpdate() {
+        // Given
+        LocalDateTime before = LocalDateTime.now();
+        when(notificationRepository.markReadCreatedAtOrBefore("testuser", before)).thenReturn(5);
+
+        // When
+        int updated = notificationService.markAllAsRead("testuser", before);
+
+        // Then
+        assertEquals(5, updated);
+        verify(eventPublisher, times(1)).publishEvent(new NotificationsReadEvent("testuser", 5));
+    }
+
+    @Test
+    void getUnreadCount_ShouldUseInMemoryCounter() {
+        // Given
+        when(unreadNotificationCounter.get("testuser")).thenReturn(5L);
+
+        // When/Then
+        assertEquals(5L, notificationService.getUnreadCount("testuser"));
+        verifyNoInteractions(notificationRepository);
     }
 }
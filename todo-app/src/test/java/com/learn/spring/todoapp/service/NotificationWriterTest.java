@@ -0,0 +1,166 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.repository.NotificationBatchRepository;
+import com.learn.spring.todoapp.repository.NotificationBatchRepository.NewNotification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationWriterTest {
+
+    @Mock
+    private NotificationBatchRepository batchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void shutdown_ShouldStoreEveryQueuedNotificationInBatches() throws Exception {
+        // Given
+        recordInserts();
+        NotificationWriter writer = writer(100, 3);
+        writer.start();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            writer.onNotificationRequested(request("user" + i));
+        }
+        writer.shutdown();
+
+        // Then
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 3), batchSizes.toString());
+        ArgumentCaptor<NotificationCreatedEvent> captor = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(eventPublisher, times(10)).publishEvent(captor.capture());
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(),
+                captor.getAllValues().stream().map(event -> event.notification().getId()).toList());
+        assertEquals("user0", captor.getAllValues().get(0).recipientUsername());
+        assertEquals(0, writer.getQueueSize());
+    }
+
+    @Test
+    void onNotificationRequested_ShouldWriteOnCallingThreadWhenQueueStaysFull() throws Exception {
+        // Given: the writer thread is stuck on its first batch and the queue holds one more notification
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> writingThreads = ConcurrentHashMap.newKeySet();
+        when(batchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            writingThreads.add(Thread.currentThread().getName());
+            if (Thread.currentThread().getName().equals("notification-writer")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return ids(invocation.getArgument(0));
+        });
+        NotificationWriter writer = writer(1, 10);
+        writer.start();
+        writer.onNotificationRequested(request("first"));
+        while (writer.getQueueSize() > 0) {
+            Thread.onSpinWait();
+        }
+        writer.onNotificationRequested(request("second"));
+
+        // When
+        writer.onNotificationRequested(request("third"));
+
+        // Then
+        assertTrue(writingThreads.contains(Thread.currentThread().getName()));
+        release.countDown();
+        writer.shutdown();
+        verify(eventPublisher, times(3)).publishEvent(any(NotificationCreatedEvent.class));
+    }
+
+    @Test
+    void failedBatch_ShouldBeRetriedRowByRow() throws Exception {
+        // Given: the writer thread is held on a first notification while three more are queued behind it
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<NewNotification> batch = invocation.getArgument(0);
+            if (batch.get(0).recipientUsername().equals("first")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            if (batch.stream().anyMatch(notification -> notification.recipientUsername().equals("deleted"))) {
+                throw new DataIntegrityViolationException("FOREIGN KEY constraint failed");
+            }
+            batchSizes.add(batch.size());
+            return ids(batch);
+        });
+        NotificationWriter writer = writer(100, 10);
+        writer.start();
+        writer.onNotificationRequested(request("first"));
+        while (writer.getQueueSize() > 0) {
+            Thread.onSpinWait();
+        }
+        writer.onNotificationRequested(request("alice"));
+        writer.onNotificationRequested(request("deleted"));
+        writer.onNotificationRequested(request("bob"));
+
+        // When
+        release.countDown();
+        writer.shutdown();
+
+        // Then
+        ArgumentCaptor<NotificationCreatedEvent> captor = ArgumentCaptor.forClass(NotificationCreatedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(captor.capture());
+        assertEquals(List.of("first", "alice", "bob"),
+                captor.getAllValues().stream().map(NotificationCreatedEvent::recipientUsername).toList());
+        assertEquals(List.of(1, 1, 1), batchSizes);
+    }
+
+    @Test
+    void constructor_ShouldRejectEmptyQueue() {
+        assertThrows(IllegalArgumentException.class, () -> writer(0, 10));
+    }
+
+    private NotificationWriter writer(int queueCapacity, int batchSize) {
+        return new NotificationWriter(batchRepository, transactionManager, eventPublisher, queueCapacity, batchSize, 10, 5_000);
+    }
+
+    private void recordInserts() {
+        when(batchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<NewNotification> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return ids(batch);
+        });
+    }
+
+    private List<Long> ids(List<NewNotification> batch) {
+        return batch.stream().map(notification -> nextId.getAndIncrement()).toList();
+    }
+
+    private static NotificationRequestedEvent request(String recipient) {
+        return new NotificationRequestedEvent(new NewNotification(recipient, "Message for " + recipient, 1L, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.service.TodoAccessCache.Access;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TodoAccessCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final IntFunction<Access> loader = todoId -> {
+        loads.incrementAndGet();
+        return new Access("owner" + todoId, List.of("assignee" + todoId));
+    };
+
+    @Test
+    void get_ShouldLoadOnceAndServeFromMemory() {
+        TodoAccessCache cache = new TodoAccessCache(16, 60_000, now::get);
+
+        Access first = cache.get(7, loader);
+        Access second = cache.get(7, loader);
+
+        assertSame(first, second);
+        assertTrue(second.isOwner("owner7"));
+        assertTrue(second.isAcceptedAssignee("assignee7"));
+        assertFalse(second.isAcceptedAssignee("owner7"));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingTodo() {
+        TodoAccessCache cache = new TodoAccessCache(16, 60_000, now::get);
+
+        assertNull(cache.get(7, todoId -> null));
+        assertNotNull(cache.get(7, loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldReloadOnNextGet() {
+        TodoAccessCache cache = new TodoAccessCache(16, 60_000, now::get);
+        cache.get(7, loader);
+
+        cache.onTodoAccessChanged(new TodoAccessChangedEvent(7));
+        cache.get(7, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotInstallLoadThatRacedWithInvalidation() {
+        TodoAccessCache cache = new TodoAccessCache(16, 60_000, now::get);
+
+        // The access changes and is invalidated while the stale row is being read
+        cache.get(7, todoId -> {
+            cache.invalidate(todoId);
+            return loader.apply(todoId);
+        });
+        cache.get(7, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldReloadExpiredEntries() {
+        TodoAccessCache cache = new TodoAccessCache(16, 1_000, now::get);
+        cache.get(7, loader);
+
+        now.addAndGet(999);
+        cache.get(7, loader);
+        now.addAndGet(1);
+        cache.get(7, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldStayWithinMaxSize() {
+        TodoAccessCache cache = new TodoAccessCache(100, 60_000, now::get);
+        assertEquals(128, cache.capacity());
+
+        for (int todoId = 1; todoId <= 10_000; todoId++) {
+            cache.get(todoId, loader);
+        }
+        loads.set(0);
+        for (int todoId = 1; todoId <= 10_000; todoId++) {
+            cache.get(todoId, loader);
+        }
+
+        assertTrue(loads.get() >= 10_000 - cache.capacity(), "At most one entry per slot is kept");
+        loads.set(0);
+        cache.get(10_000, loader);
+        assertEquals(0, loads.get(), "The most recent todo in a slot stays cached");
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TodoAccessCache(0, 60_000, now::get));
+        assertEquals(1, new TodoAccessCache(1, 60_000, now::get).capacity());
+    }
+}
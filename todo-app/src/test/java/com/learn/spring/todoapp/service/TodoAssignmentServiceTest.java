@@ -3,17 +3,25 @@ package com.learn.spring.todoapp.service;
 import com.learn.spring.todoapp.entity.*;
 import com.learn.spring.todoapp.repository.TodoAssignmentRepository;
 import com.learn.spring.todoapp.repository.TodoRepository;
-import com.learn.spring.todoapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,11 +38,17 @@ public class TodoAssignmentServiceTest {
     private TodoRepository todoRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserReferences userReferences;
 
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TodoAssignmentService todoAssignmentService;
 
@@ -62,10 +76,8 @@ public class TodoAssignmentServiceTest {
     void assignTodo_ShouldCreateAssignment_WhenValid() {
         // Given
         when(todoRepository.findById(1)).thenReturn(Optional.of(todo));
-        when(userRepository.findByUsername("assigner")).thenReturn(Optional.of(assigner));
-        when(userRepository.findByUsername("assignee")).thenReturn(Optional.of(assignee));
-        when(assignmentRepository.findByTodoId(1)).thenReturn(Collections.emptyList());
-        when(assignmentRepository.save(any(TodoAssignment.class))).thenReturn(assignment);
+        when(userReferences.existing("assignee")).thenReturn(Optional.of(assignee));
+        when(assignmentRepository.saveAndFlush(any(TodoAssignment.class))).thenReturn(assignment);
 
         // When
         TodoAssignment result = todoAssignmentService.assignTodo(1, "assigner", "assignee");
@@ -74,6 +86,20 @@ public class TodoAssignmentServiceTest {
         assertNotNull(result);
         assertEquals(AssignmentStatus.PENDING, result.getStatus());
         verify(notificationService, times(1)).createNotification(eq(assignee), anyString(), eq(1L));
+        verify(assignmentRepository, never()).findByTodoId(any());
+    }
+
+    @Test
+    void assignTodo_ShouldThrowException_WhenAssigneeDoesNotExist() {
+        // Given
+        when(todoRepository.findById(1)).thenReturn(Optional.of(todo));
+        when(userReferences.existing("nobody")).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () ->
+            todoAssignmentService.assignTodo(1, "assigner", "nobody")
+        );
+        verify(assignmentRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -91,69 +117,174 @@ public class TodoAssignmentServiceTest {
     void assignTodo_ShouldThrowException_WhenTodoAlreadyAssigned() {
         // Given
         when(todoRepository.findById(1)).thenReturn(Optional.of(todo));
-        when(userRepository.findByUsername("assigner")).thenReturn(Optional.of(assigner));
-        when(userRepository.findByUsername("assignee")).thenReturn(Optional.of(assignee));
-        when(assignmentRepository.findByTodoId(1)).thenReturn(Collections.singletonList(assignment));
+        when(userReferences.existing("assignee")).thenReturn(Optional.of(assignee));
+        when(assignmentRepository.saveAndFlush(any(TodoAssignment.class)))
+                .thenThrow(new DataIntegrityViolationException("idx_todo_assignment_one_active"));
 
         // When/Then
         assertThrows(IllegalStateException.class, () -> 
             todoAssignmentService.assignTodo(1, "assigner", "assignee")
         );
+        verifyNoInteractions(notificationService, eventPublisher);
     }
 
     @Test
     void respondToAssignment_ShouldAcceptAssignment() {
         // Given
-        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
-        when(assignmentRepository.save(any(TodoAssignment.class))).thenReturn(assignment);
+        LocalDate tentativeDate = LocalDate.now().plusDays(2);
+        when(assignmentRepository.respond(eq(1L), eq("assignee"), eq(AssignmentStatus.ACCEPTED), any(),
+                eq(tentativeDate), isNull())).thenReturn(1);
+        when(assignmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(assignment));
 
         // When
-        TodoAssignment result = todoAssignmentService.respondToAssignment(1L, "assignee", true, LocalDate.now().plusDays(2), null);
+        TodoAssignment result = todoAssignmentService.respondToAssignment(1L, "assignee", true, tentativeDate, "Ignored");
 
         // Then
-        assertEquals(AssignmentStatus.ACCEPTED, result.getStatus());
-        assertEquals(LocalDate.now().plusDays(2), result.getTentativeCompletionDate());
-        verify(notificationService, times(1)).createNotification(eq(assigner), anyString(), eq(1L));
+        assertSame(assignment, result);
+        verify(notificationService, times(1)).createNotification(eq(assigner), contains("accepted"), eq(1L));
+        verify(assignmentRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.get("todo.assignment.transitions").tag("status", "ACCEPTED").counter().count());
+        assertEquals(0.0, meterRegistry.get("todo.assignment.transitions").tag("status", "DECLINED").counter().count());
+        verify(eventPublisher).publishEvent(new TodoAccessChangedEvent(1));
     }
 
     @Test
     void respondToAssignment_ShouldDeclineAssignment() {
         // Given
-        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
-        when(assignmentRepository.save(any(TodoAssignment.class))).thenReturn(assignment);
+        when(assignmentRepository.respond(eq(1L), eq("assignee"), eq(AssignmentStatus.DECLINED), any(),
+                isNull(), eq("Too busy"))).thenReturn(1);
+        when(assignmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(assignment));
 
         // When
-        TodoAssignment result = todoAssignmentService.respondToAssignment(1L, "assignee", false, null, "Too busy");
+        todoAssignmentService.respondToAssignment(1L, "assignee", false, LocalDate.now(), "Too busy");
 
         // Then
-        assertEquals(AssignmentStatus.DECLINED, result.getStatus());
-        assertEquals("Too busy", result.getDeclineReason());
-        verify(notificationService, times(1)).createNotification(eq(assigner), anyString(), eq(1L));
+        verify(notificationService, times(1)).createNotification(eq(assigner), contains("declined"), eq(1L));
+        assertEquals(1.0, meterRegistry.get("todo.assignment.transitions").tag("status", "DECLINED").counter().count());
+    }
+
+    @Test
+    void respondToAssignment_ShouldCountTransitionOnlyWhenCommitted() {
+        // Given
+        when(assignmentRepository.respond(eq(1L), eq("assignee"), eq(AssignmentStatus.DECLINED), any(),
+                isNull(), eq("Too busy"))).thenReturn(1);
+        when(assignmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(assignment));
+        Counter declined = meterRegistry.get("todo.assignment.transitions").tag("status", "DECLINED").counter();
+
+        // When/Then
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            todoAssignmentService.respondToAssignment(1L, "assignee", false, LocalDate.now(), "Too busy");
+            assertEquals(0.0, declined.count());
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+            assertEquals(0.0, declined.count());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            todoAssignmentService.respondToAssignment(1L, "assignee", false, LocalDate.now(), "Too busy");
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertEquals(1.0, declined.count());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
     void respondToAssignment_ShouldThrowException_WhenUserIsNotAssignee() {
         // Given
-        when(assignmentRepository.findById(1L)).thenReturn(Optional.of(assignment));
+        when(assignmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(assignment));
 
         // When/Then
-        assertThrows(IllegalStateException.class, () -> 
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> 
             todoAssignmentService.respondToAssignment(1L, "otherUser", true, null, null)
         );
+        assertEquals("Not authorized to respond to this assignment", e.getMessage());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void respondToAssignment_ShouldThrowException_WhenAlreadyAnswered() {
+        // Given
+        assignment.setStatus(AssignmentStatus.DECLINED);
+        when(assignmentRepository.findWithDetailsById(1L)).thenReturn(Optional.of(assignment));
+
+        // When/Then
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+            todoAssignmentService.respondToAssignment(1L, "assignee", true, null, null)
+        );
+        assertEquals("Assignment is not in PENDING state", e.getMessage());
+        verifyNoInteractions(notificationService, eventPublisher);
     }
 
     @Test
     void completeAssignment_ShouldUpdateStatusToCompleted() {
         // Given
-        assignment.setStatus(AssignmentStatus.ACCEPTED);
-        when(assignmentRepository.findByTodoId(1)).thenReturn(Collections.singletonList(assignment));
+        TodoAssignmentRepository.AssignmentSummary accepted = mock(TodoAssignmentRepository.AssignmentSummary.class);
+        when(accepted.getId()).thenReturn(1L);
+        when(accepted.getAssignerUsername()).thenReturn("assigner");
+        when(assignmentRepository.findSummaryByTodoIdAndStatus(1, AssignmentStatus.ACCEPTED)).thenReturn(Optional.of(accepted));
+        when(assignmentRepository.updateStatus(1L, AssignmentStatus.ACCEPTED, AssignmentStatus.COMPLETED)).thenReturn(1);
 
         // When
         todoAssignmentService.completeAssignment(1);
 
         // Then
-        assertEquals(AssignmentStatus.COMPLETED, assignment.getStatus());
-        verify(assignmentRepository, times(1)).save(assignment);
-        verify(notificationService, times(1)).createNotification(eq(assigner), anyString(), eq(1L));
+        verify(notificationService, times(1)).createNotification(eq("assigner"), anyString(), eq(1L));
+        assertEquals(1.0, meterRegistry.get("todo.assignment.transitions").tag("status", "COMPLETED").counter().count());
+    }
+
+    @Test
+    void completeAssignment_ShouldNotNotifyWhenAnotherCompletionWon() {
+        // Given
+        TodoAssignmentRepository.AssignmentSummary accepted = mock(TodoAssignmentRepository.AssignmentSummary.class);
+        when(accepted.getId()).thenReturn(1L);
+        when(assignmentRepository.findSummaryByTodoIdAndStatus(1, AssignmentStatus.ACCEPTED)).thenReturn(Optional.of(accepted));
+        when(assignmentRepository.updateStatus(1L, AssignmentStatus.ACCEPTED, AssignmentStatus.COMPLETED)).thenReturn(0);
+
+        // When
+        todoAssignmentService.completeAssignment(1);
+
+        // Then
+        verifyNoInteractions(notificationService, eventPublisher);
+    }
+
+    @Test
+    void completeAssignment_ShouldDoNothingWithoutAcceptedAssignment() {
+        // Given
+        when(assignmentRepository.findSummaryByTodoIdAndStatus(1, AssignmentStatus.ACCEPTED)).thenReturn(Optional.empty());
+
+        // When
+        todoAssignmentService.completeAssignment(1);
+
+        // Then
+        verify(assignmentRepository, never()).updateStatus(any(), any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void getActiveAssignees_ShouldMapTodoIdsToAssigneesInOneQuery() {
+        // Given
+        TodoAssignmentRepository.TodoAssignee active = mock(TodoAssignmentRepository.TodoAssignee.class);
+        when(active.getTodoId()).thenReturn(1);
+        when(active.getAssigneeUsername()).thenReturn("assignee");
+        when(assignmentRepository.findAssigneesByTodoIdInAndStatusIn(eq(List.of(1, 2)), anyCollection()))
+                .thenReturn(List.of(active));
+
+        // When
+        Map<Integer, String> result = todoAssignmentService.getActiveAssignees(List.of(1, 2));
+
+        // Then
+        assertEquals(Map.of(1, "assignee"), result);
+        verify(assignmentRepository, times(1)).findAssigneesByTodoIdInAndStatusIn(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void getActiveAssignees_ShouldSkipQueryForEmptyPage() {
+        assertTrue(todoAssignmentService.getActiveAssignees(List.of()).isEmpty());
+        verifyNoInteractions(assignmentRepository);
     }
 }
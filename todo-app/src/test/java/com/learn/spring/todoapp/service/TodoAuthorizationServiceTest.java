@@ -0,0 +1,96 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.repository.TodoRepository;
+import com.learn.spring.todoapp.repository.TodoRepository.TodoAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoAuthorizationServiceTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private TodoAccessCache accessCache;
+    private TodoAuthorizationService authorizationService;
+
+    @BeforeEach
+    void setUp() {
+        accessCache = new TodoAccessCache(16, 60_000, () -> 0L);
+        authorizationService = new TodoAuthorizationService(todoRepository, accessCache);
+    }
+
+    @Test
+    void checkCanEdit_ShouldAllowOwnerAndAcceptedAssignee() {
+        // Given
+        when(todoRepository.findAccessById(1)).thenReturn(rows("owner", "assignee"));
+
+        // When/Then
+        assertDoesNotThrow(() -> authorizationService.checkCanEdit(1, "owner"));
+        assertDoesNotThrow(() -> authorizationService.checkCanEdit(1, "assignee"));
+        assertThrows(IllegalStateException.class, () -> authorizationService.checkCanEdit(1, "stranger"));
+    }
+
+    @Test
+    void checkCanDelete_ShouldOnlyAllowOwner() {
+        // Given
+        when(todoRepository.findAccessById(1)).thenReturn(rows("owner", "assignee"));
+
+        // When/Then
+        assertDoesNotThrow(() -> authorizationService.checkCanDelete(1, "owner"));
+        assertThrows(IllegalStateException.class, () -> authorizationService.checkCanDelete(1, "assignee"));
+    }
+
+    @Test
+    void checks_ShouldRejectMissingTodo() {
+        // Given
+        when(todoRepository.findAccessById(2)).thenReturn(List.of());
+
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> authorizationService.checkCanEdit(2, "owner"));
+        assertThrows(IllegalArgumentException.class, () -> authorizationService.checkCanDelete(2, "owner"));
+        verify(todoRepository, times(2)).findAccessById(2);
+    }
+
+    @Test
+    void checks_ShouldQueryOnceUntilAccessChanges() {
+        // Given
+        when(todoRepository.findAccessById(1)).thenReturn(rows("owner", (String) null))
+                .thenReturn(rows("owner", "assignee"));
+
+        // When/Then
+        authorizationService.checkCanEdit(1, "owner");
+        authorizationService.checkCanDelete(1, "owner");
+        assertThrows(IllegalStateException.class, () -> authorizationService.checkCanEdit(1, "assignee"));
+        verify(todoRepository, times(1)).findAccessById(1);
+
+        accessCache.onTodoAccessChanged(new TodoAccessChangedEvent(1));
+        assertDoesNotThrow(() -> authorizationService.checkCanEdit(1, "assignee"));
+        verify(todoRepository, times(2)).findAccessById(1);
+    }
+
+    private static List<TodoAccess> rows(String ownerUsername, String... acceptedAssignees) {
+        return Arrays.stream(acceptedAssignees)
+                .<TodoAccess>map(assignee -> new TodoAccess() {
+                    @Override
+                    public String getOwnerUsername() {
+                        return ownerUsername;
+                    }
+
+                    @Override
+                    public String getAcceptedAssigneeUsername() {
+                        return assignee;
+                    }
+                })
+                .toList();
+    }
+}
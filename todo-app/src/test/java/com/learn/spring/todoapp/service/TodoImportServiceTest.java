@@ -0,0 +1,119 @@
+package com.learn.spring.todoapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.learn.spring.todoapp.dto.ImportResult;
+import com.learn.spring.todoapp.repository.TodoBatchRepository;
+import com.learn.spring.todoapp.repository.TodoBatchRepository.NewTodo;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoImportServiceTest {
+
+    @Mock
+    private TodoBatchRepository todoBatchRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TodoImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        importService = new TodoImportService(todoBatchRepository, userRepository, transactionManager,
+                new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+    }
+
+    @Test
+    void importTodos_ShouldInsertInBatchesOfConfiguredSize() {
+        // Given: the batch list is reused, so record copies
+        List<List<NewTodo>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.getArgument(0))))
+                .when(todoBatchRepository).insertAll(anyList());
+
+        // When
+        ImportResult result = importService.importTodos("testuser", false, TodoImportService.Format.NDJSON, ndjson(5), 0);
+
+        // Then
+        assertTrue(result.isCompleted());
+        assertEquals(5, result.getImported());
+        assertEquals(5, result.getResumeFromLine());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals("testuser", batches.get(0).get(0).username());
+    }
+
+    @Test
+    void importTodos_ShouldStopAtFailedBatchAndReportLastCommittedLine() {
+        // Given
+        doNothing().doThrow(new DataAccessResourceFailureException("database is locked"))
+                .when(todoBatchRepository).insertAll(anyList());
+
+        // When
+        ImportResult result = importService.importTodos("testuser", false, TodoImportService.Format.NDJSON, ndjson(5), 0);
+
+        // Then
+        assertFalse(result.isCompleted());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getResumeFromLine());
+        assertTrue(result.getFailure().contains("database is locked"), result.getFailure());
+    }
+
+    @Test
+    void importTodos_ShouldOnlyLetAdministratorsImportForExistingUsers() {
+        // Given
+        when(userRepository.existsByUsername("other")).thenReturn(true);
+        String body = "{\"description\":\"For other\",\"targetDate\":\"2030-01-01\",\"username\":\"other\"}\n"
+                + "{\"description\":\"For ghost\",\"targetDate\":\"2030-01-01\",\"username\":\"ghost\"}";
+
+        // When
+        ImportResult asUser = importService.importTodos("testuser", false, TodoImportService.Format.NDJSON, stream(body), 0);
+        ImportResult asAdmin = importService.importTodos("admin", true, TodoImportService.Format.NDJSON, stream(body), 0);
+
+        // Then
+        assertEquals(0, asUser.getImported());
+        assertEquals(2, asUser.getRejected());
+        assertEquals(1, asAdmin.getImported());
+        assertEquals(List.of("line 2: user ghost does not exist"), asAdmin.getErrors());
+    }
+
+    @Test
+    void parseCsvLine_ShouldHandleQuotedFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), TodoImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static InputStream ndjson(int rows) {
+        return stream(IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> "{\"description\":\"Todo " + i + "\",\"targetDate\":\"2030-01-01\"}")
+                .collect(Collectors.joining("\n")));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.TodoDTO;
+import com.learn.spring.todoapp.entity.Todo;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoServiceTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private UserReferences userReferences;
+
+    @Mock
+    private TodoAuthorizationService authorizationService;
+
+    @Mock
+    private TodoAssignmentService todoAssignmentService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TodoService todoService;
+
+    private User owner;
+    private Todo existing;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User("owner", "password", "owner@example.com");
+        existing = new Todo(1, "owner", "Existing", LocalDate.now().plusDays(1), false);
+        existing.setUser(owner);
+        lenient().when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createTodo_ShouldAttachCurrentUser() {
+        // Given
+        when(userReferences.authenticated("owner")).thenReturn(owner);
+        Todo todo = new Todo(0, null, "New", LocalDate.now().plusDays(1), false);
+
+        // When
+        Todo saved = todoService.createTodo(todo, "owner");
+
+        // Then
+        assertSame(owner, saved.getUser());
+        assertEquals("owner", saved.getUsername());
+        assertNull(saved.getId());
+    }
+
+    @Test
+    void updateTodo_ShouldKeepOwnerWhenAcceptedAssigneeUpdates() {
+        // Given
+        when(todoRepository.findById(1)).thenReturn(Optional.of(existing));
+        Todo update = new Todo(1, null, "Updated", LocalDate.now().plusDays(2), true);
+
+        // When
+        Todo saved = todoService.updateTodo(1, update, "assignee");
+
+        // Then
+        assertEquals("owner", saved.getUsername());
+        assertSame(existing, saved);
+        assertEquals("Updated", saved.getDescription());
+        verify(authorizationService).checkCanEdit(1, "assignee");
+        verifyNoInteractions(userReferences);
+        verify(todoRepository, never()).save(any());
+        verify(todoAssignmentService, times(1)).completeAssignment(1);
+    }
+
+    @Test
+    void updateTodo_ShouldNotReadTodoWhenAuthorizationFails() {
+        // Given
+        doThrow(new IllegalStateException("Not authorized to update this todo"))
+                .when(authorizationService).checkCanEdit(1, "stranger");
+
+        // When/Then
+        Todo update = new Todo(1, null, "Updated", LocalDate.now().plusDays(2), false);
+        assertThrows(IllegalStateException.class, () -> todoService.updateTodo(1, update, "stranger"));
+        verify(todoRepository, never()).findById(any());
+        verify(todoRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteTodo_ShouldOnlyAllowOwner() {
+        // Given
+        doThrow(new IllegalStateException("Not authorized to delete this todo"))
+                .when(authorizationService).checkCanDelete(1, "assignee");
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> todoService.deleteTodo(1, "assignee"));
+        todoService.deleteTodo(1, "owner");
+        verify(todoRepository, times(1)).deleteById(1);
+        verify(eventPublisher, times(1)).publishEvent(new TodoAccessChangedEvent(1));
+    }
+
+    @Test
+    void getTodoForUpdate_ShouldReturnViewForOwnerAndRejectOthers() {
+        // Given
+        TodoDTO view = new TodoDTO(1, "owner", "Existing", existing.getTargetDate(), false);
+        when(todoRepository.findViewById(1)).thenReturn(Optional.of(view));
+        lenient().doThrow(new IllegalStateException("Not authorized to update this todo"))
+                .when(authorizationService).checkCanEdit(1, "stranger");
+
+        // When/Then
+        assertSame(view, todoService.getTodoForUpdate(1, "owner"));
+        assertThrows(IllegalStateException.class, () -> todoService.getTodoForUpdate(1, "stranger"));
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodoForUpdate(2, "owner"));
+    }
+}
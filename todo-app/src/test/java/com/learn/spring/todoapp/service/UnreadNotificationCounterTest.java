@@ -0,0 +1,195 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, 10, 60_000, now::get);
+    }
+
+    @Test
+    void get_ShouldSeedFromRepositoryOnceAndServeFromMemory() {
+        // Given
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse("testuser")).thenReturn(3L);
+
+        // When/Then
+        assertEquals(3, counter.get("testuser"));
+        assertEquals(3, counter.get("testuser"));
+        verify(notificationRepository, times(1)).countByRecipientUsernameAndIsReadFalse("testuser");
+    }
+
+    @Test
+    void events_ShouldAdjustSeededCounter() {
+        // Given
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse("testuser")).thenReturn(3L);
+        counter.get("testuser");
+
+        // When
+        counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null));
+        counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null));
+        counter.onNotificationsRead(new NotificationsReadEvent("testuser", 4));
+
+        // Then
+        assertEquals(1, counter.get("testuser"));
+        verify(notificationRepository, times(1)).countByRecipientUsernameAndIsReadFalse("testuser");
+    }
+
+    @Test
+    void events_ShouldNotCreateCountersForUnseededUsers() {
+        // When
+        counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null));
+
+        // Then
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    void get_ShouldReseedAfterTtlExpires() {
+        // Given
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse("testuser")).thenReturn(3L, 7L);
+        counter.get("testuser");
+
+        // When
+        now.addAndGet(60_000);
+
+        // Then
+        assertEquals(7, counter.get("testuser"));
+        verify(notificationRepository, times(2)).countByRecipientUsernameAndIsReadFalse("testuser");
+    }
+
+    @Test
+    void evict_ShouldDropExpiredAndLeastRecentlyReadCountersBeyondMaxSize() {
+        // Given
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse(anyString())).thenReturn(0L);
+        counter.get("expired");
+        now.addAndGet(60_000);
+        for (int i = 0; i < 11; i++) {
+            now.incrementAndGet();
+            counter.get("user" + i);
+        }
+        now.incrementAndGet();
+        counter.get("user0");
+
+        // When
+        counter.evict();
+
+        // Then
+        assertEquals(10, counter.size());
+        clearInvocations(notificationRepository);
+        counter.get("user0");
+        verify(notificationRepository, never()).countByRecipientUsernameAndIsReadFalse("user0");
+        counter.get("user1");
+        verify(notificationRepository, times(1)).countByRecipientUsernameAndIsReadFalse("user1");
+    }
+
+    @Test
+    void get_ShouldNotKeepSeedWhenWriteCommitsWhileSeeding() {
+        // Given: a notification is created and committed while the seed query runs
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse("testuser")).thenAnswer(invocation -> {
+            inTransaction(() -> counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null)));
+            return 4L;
+        }).thenReturn(4L);
+
+        // When
+        assertEquals(4, counter.get("testuser"));
+
+        // Then
+        assertEquals(0, counter.size());
+        assertEquals(4, counter.get("testuser"));
+        assertEquals(4, counter.get("testuser"));
+        verify(notificationRepository, times(2)).countByRecipientUsernameAndIsReadFalse("testuser");
+    }
+
+    @Test
+    void get_ShouldNotKeepSeedWhileWriteIsInFlight() {
+        // Given: a notification event is published in a transaction that has not committed yet
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse("testuser")).thenReturn(3L, 4L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+            // When
+            assertEquals(3, counter.get("testuser"));
+            assertEquals(0, counter.size());
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(4, counter.get("testuser"));
+        assertEquals(1, counter.size());
+    }
+
+    @Test
+    void events_ShouldOnlyAdjustCounterWhenTransactionCommits() {
+        // Given
+        when(notificationRepository.countByRecipientUsernameAndIsReadFalse("testuser")).thenReturn(3L);
+        counter.get("testuser");
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null));
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        inTransaction(() -> counter.onNotificationCreated(new NotificationCreatedEvent("testuser", null)));
+
+        // Then
+        assertEquals(4, counter.get("testuser"));
+    }
+
+    /**
+     * Runs {@code publish} as a committed transaction would on another thread: events first, then the commit
+     * callbacks.
+     */
+    private static void inTransaction(Runnable publish) {
+        Thread thread = new Thread(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                publish.run();
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+                TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
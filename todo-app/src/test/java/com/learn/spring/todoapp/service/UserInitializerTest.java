@@ -0,0 +1,79 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.config.StartupTimings;
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.AuthorityRepository;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserInitializerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthorityRepository authorityRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private StartupTimings startupTimings;
+    private UserInitializer userInitializer;
+
+    @BeforeEach
+    void setUp() {
+        startupTimings = new StartupTimings(Duration.ofSeconds(30));
+        userInitializer = new UserInitializer(userRepository, authorityRepository, passwordEncoder, startupTimings);
+    }
+
+    @Test
+    void init_ShouldSkipWhenAllDefaultUsersExist() {
+        // Given
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(
+                new User("admin", "hash", "admin@example.com"),
+                new User("user1", "hash", "user1@example.com"),
+                new User("user2", "hash", "user2@example.com")));
+
+        // When
+        userInitializer.init();
+
+        // Then
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(passwordEncoder, authorityRepository);
+        assertTrue(startupTimings.getPhases().containsKey("default-users"));
+    }
+
+    @Test
+    void init_ShouldCreateOnlyMissingUsers() {
+        // Given
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(
+                new User("user1", "hash", "user1@example.com")));
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+
+        // When
+        userInitializer.init();
+
+        // Then
+        verify(userRepository).save(argThat(user -> user.getUsername().equals("admin")));
+        verify(userRepository).save(argThat(user -> user.getUsername().equals("user2")));
+        verify(userRepository, times(2)).save(any());
+        verify(authorityRepository).addAuthority("admin", "ROLE_ADMIN");
+        verify(authorityRepository).addAuthority("admin", "ROLE_USER");
+        verify(authorityRepository).addAuthority("user2", "ROLE_USER");
+        verifyNoMoreInteractions(authorityRepository);
+    }
+}
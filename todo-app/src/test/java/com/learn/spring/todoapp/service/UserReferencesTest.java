@@ -0,0 +1,76 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.entity.User;
+import com.learn.spring.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserReferencesTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserReferences userReferences;
+
+    @BeforeEach
+    void setUp() {
+        userReferences = new UserReferences(userRepository);
+        lenient().when(userRepository.getReferenceById(anyString()))
+                .thenAnswer(invocation -> new User(invocation.getArgument(0), null, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void authenticated_ShouldNotQuery() {
+        // When
+        User user = userReferences.authenticated("alice");
+
+        // Then
+        assertEquals("alice", user.getUsername());
+        verify(userRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void existing_ShouldCheckEachUserOncePerRequest() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.existsById("bob")).thenReturn(true);
+        when(userRepository.existsById("nobody")).thenReturn(false);
+
+        // When/Then
+        assertEquals("bob", userReferences.existing("bob").orElseThrow().getUsername());
+        assertEquals("bob", userReferences.existing("bob").orElseThrow().getUsername());
+        assertTrue(userReferences.existing("nobody").isEmpty());
+        assertTrue(userReferences.existing("nobody").isEmpty());
+        verify(userRepository, times(1)).existsById("bob");
+        verify(userRepository, times(2)).existsById("nobody");
+    }
+
+    @Test
+    void existing_ShouldCheckEveryTimeOutsideRequest() {
+        // Given
+        when(userRepository.existsById("bob")).thenReturn(true);
+
+        // When
+        userReferences.existing("bob");
+        userReferences.existing("bob");
+
+        // Then
+        verify(userRepository, times(2)).existsById("bob");
+    }
+}
@@ -0,0 +1,175 @@
+package com.learn.spring.todoapp.service;
+
+import com.learn.spring.todoapp.dto.CursorPage;
+import com.learn.spring.todoapp.dto.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserSearchIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        index = new UserSearchIndex(jdbcTemplate, transactionManager, 2, 10, 50, 100);
+    }
+
+    @Test
+    void search_ShouldLoadUsersFromDatabaseOnce() {
+        // Given
+        List<String[]> rows = List.of(new String[]{"alice", "alice@example.com"}, new String[]{"bob", "bob@example.com"});
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("username")).thenReturn(row[0]);
+                when(rs.getString("email")).thenReturn(row[1]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        // When
+        List<UserDTO> first = search("ali", null);
+        search("bob", null);
+
+        // Then
+        assertEquals(List.of(new UserDTO("alice", "alice@example.com")), first);
+        assertEquals(2, index.size());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void search_ShouldRankExactThenPrefixThenEmailThenSubstring() {
+        // Given
+        loadNothing();
+        index.add("ann", "zed@example.com");
+        index.add("Anna", "anna@example.com");
+        index.add("zoe", "ann.smith@example.com");
+        index.add("joanne", "jo@example.com");
+        index.add("bob", "bob@example.com");
+
+        // When
+        List<String> usernames = usernames(search("ANN", null));
+
+        // Then
+        assertEquals(List.of("ann", "Anna", "zoe", "joanne"), usernames);
+    }
+
+    @Test
+    void search_ShouldApplyLimitAndMinimumLength() {
+        // Given
+        loadNothing();
+        for (int i = 0; i < 60; i++) {
+            index.add("user" + String.format("%02d", i), null);
+        }
+
+        // When/Then
+        assertEquals(10, search("user", null).size());
+        assertEquals(List.of("user00", "user01", "user02"), usernames(search("user", 3)));
+        assertEquals(50, search("user", 500).size());
+        assertEquals(List.of(), search("u", null));
+        assertThrows(IllegalArgumentException.class, () -> search("user", 0));
+    }
+
+    @Test
+    void add_ShouldReplaceEmailAndRemoveShouldDropUser() {
+        // Given
+        loadNothing();
+        index.add("carol", "old@example.com");
+
+        // When
+        index.add("carol", "new@example.com");
+
+        // Then
+        assertEquals(List.of(), search("old", null));
+        assertEquals(List.of(new UserDTO("carol", "new@example.com")), search("new@", null));
+
+        index.remove("carol");
+        assertEquals(List.of(), search("carol", null));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void search_ShouldPageThroughEveryRankWithCursor() {
+        // Given
+        loadNothing();
+        index.add("ann", "zed@example.com");
+        index.add("Anna", "anna@example.com");
+        index.add("zoe", "ann.smith@example.com");
+        index.add("joanne", "jo@example.com");
+        index.add("hannah", "h@example.com");
+
+        // When
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<UserDTO> page = index.search("ann", 2, cursor).page();
+            seen.addAll(usernames(page.getItems()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(List.of("ann", "Anna", "zoe", "hannah", "joanne"), seen);
+        assertEquals(3, pages);
+        assertThrows(IllegalArgumentException.class, () -> index.search("ann", 2, "not-a-cursor"));
+    }
+
+    @Test
+    void search_ShouldCachePagesUntilIndexChanges() {
+        // Given
+        loadNothing();
+        index.add("dave", "dave@example.com");
+
+        // When
+        UserSearchIndex.SearchResult first = index.search("dav", null, null);
+        UserSearchIndex.SearchResult second = index.search("DAV ", null, null);
+        index.add("david", "david@example.com");
+        UserSearchIndex.SearchResult third = index.search("dav", null, null);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, index.getCacheHitCount());
+        assertEquals(List.of("dave", "david"), usernames(third.page().getItems()));
+        assertNotEquals(first.etag(), third.etag());
+        assertTrue(first.etag().matches("\"[0-9a-f]{32}\""), first.etag());
+    }
+
+    private List<UserDTO> search(String query, Integer limit) {
+        return index.search(query, limit, null).page().getItems();
+    }
+
+    private void loadNothing() {
+        doNothing().when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private static List<String> usernames(List<UserDTO> users) {
+        return users.stream().map(UserDTO::getUsername).toList();
+    }
+}
@@ -0,0 +1,2 @@
+DROP TABLE IF EXISTS authorities;
+CREATE TABLE authorities (username VARCHAR(255) NOT NULL, authority VARCHAR(255) NOT NULL, CONSTRAINT pk_authorities PRIMARY KEY (username, authority));
@@ -0,0 +1,2 @@
+ALTER TABLE todo_assignment ADD COLUMN active_todo_id INTEGER GENERATED ALWAYS AS (CASE WHEN status IN ('PENDING', 'ACCEPTED') THEN todo_id END);
+CREATE UNIQUE INDEX idx_todo_assignment_one_active ON todo_assignment (active_todo_id);